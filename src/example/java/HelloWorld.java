@@ -1,6 +1,8 @@
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.context.SwapIntervalController;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.monitor.Monitor;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowHints;
 import org.lwjgl.Version;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.glfw.GLFWVidMode;
@@ -23,13 +25,14 @@ public class HelloWorld {
             throw new IllegalStateException("Unable to initialize GLFW");
         }
 
-        // Configure GLFW
-        glfwDefaultWindowHints(); // optional, the current window hints are already the default
-        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE); // the window will stay hidden after creation
-        glfwWindowHint(GLFW_RESIZABLE, GLFW_TRUE); // the window will be resizable
+        // Configure GLFW, hints not set here keep their default value
+        WindowHints hints = WindowHints.builder()
+                .hint(GLFW_VISIBLE, false) // the window will stay hidden after creation
+                .hint(GLFW_RESIZABLE, true) // the window will be resizable
+                .build();
 
         // Create window
-        window = new Window(300, 300, "Hello World!");
+        window = new Window(300, 300, "Hello World!", hints);
 
         // Set up a key callback. It will be called every time a key is pressed, repeated or released.
         window.setKeyCallback((key, scancode, action, mods) -> {
@@ -56,8 +59,8 @@ public class HelloWorld {
         // Make the OpenGL context current
         window.makeContextCurrent();
 
-        // Enable v-sync
-        glfwSwapInterval(1);
+        // Enable v-sync, relaxed to adaptive v-sync when frames miss the refresh deadline
+        new SwapIntervalController(window);
 
         // Make the window visible
         window.show();
@@ -83,7 +86,7 @@ public class HelloWorld {
 
             // Poll for window events. The key callback above will only be
             // invoked during this call.
-            glfwPollEvents();
+            Window.pollEvents();
         }
     }
 
@@ -0,0 +1,81 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer handing snapshots from one producer thread to one consumer thread.
+ *
+ * <p>The producer fills the {@link #getBack() back} slot and {@link #publish() publishes} it, the consumer {@link #update() updates} to the latest published
+ * slot and reads it from {@link #getFront()}. The third slot sits between them, so neither thread ever waits for the other, the producer may publish
+ * faster than the consumer reads, and the consumer always sees the most recent complete snapshot. Each exchange is a single atomic swap, and the slots are
+ * reused, so no snapshot is allocated after construction.</p>
+ *
+ * @param <T> the type of the snapshots
+ *
+ * @author k4zoku
+ */
+public final class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back;
+    private int front = 2;
+
+    /**
+     * Creates a triple buffer with three slots from the factory.
+     *
+     * @param factory the slot factory
+     */
+    public TripleBuffer(@NotNull Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /**
+     * Returns the slot owned by the producer, only valid until the next {@link #publish()}.
+     *
+     * @return the back slot
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) slots[back];
+    }
+
+    /**
+     * Publishes the back slot to the consumer, and gives the producer a new back slot. Must only be called from the producer thread.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Makes the latest published slot the front slot, if one was published since the last update. Must only be called from the consumer thread.
+     *
+     * @return whether the front slot changed
+     */
+    public boolean update() {
+        if ((middle.get() & FRESH) == 0) {
+            return false;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * Returns the slot owned by the consumer, only valid until the next {@link #update()}.
+     *
+     * @return the front slot
+     */
+    @SuppressWarnings("unchecked")
+    public T getFront() {
+        return (T) slots[front];
+    }
+
+}
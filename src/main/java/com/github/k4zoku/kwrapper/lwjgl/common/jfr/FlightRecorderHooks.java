@@ -0,0 +1,168 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hooks reporting the activity of the wrapper to Java Flight Recorder.
+ *
+ * <p>This is the Java 8 version, every hook does nothing and the tokens are {@code null}. The jar is a multi-release jar: on JDK 11 and later this class is
+ * replaced by the one in {@code META-INF/versions/11}, which emits {@code jdk.jfr} events under the {@code KWrapper} category. Duration events have
+ * thresholds, so only slow frames, swaps and event polls are recorded with the default settings.</p>
+ *
+ * <p>A token returned by a {@code begin} hook must be passed to the matching {@code end} hook on the same thread.</p>
+ *
+ * @author k4zoku
+ */
+public final class FlightRecorderHooks {
+
+    private FlightRecorderHooks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns whether the events are emitted on this JDK.
+     *
+     * @return {@code false} on Java 8
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Starts a frame of a window, ended by the next buffer swap.
+     *
+     * @return the token to pass to {@link #endFrame(Object, long)}
+     */
+    @Nullable
+    public static Object beginFrame() {
+        return null;
+    }
+
+    /**
+     * Ends a frame of a window.
+     *
+     * @param token  the token returned by {@link #beginFrame()}
+     * @param window the window handle
+     */
+    public static void endFrame(@Nullable Object token, long window) {
+    }
+
+    /**
+     * Starts a buffer swap.
+     *
+     * @return the token to pass to {@link #endSwap(Object, long)}
+     */
+    @Nullable
+    public static Object beginSwap() {
+        return null;
+    }
+
+    /**
+     * Ends a buffer swap.
+     *
+     * @param token  the token returned by {@link #beginSwap()}
+     * @param window the window handle
+     */
+    public static void endSwap(@Nullable Object token, long window) {
+    }
+
+    /**
+     * Starts processing events.
+     *
+     * @return the token to pass to {@link #endPoll(Object, String)}
+     */
+    @Nullable
+    public static Object beginPoll() {
+        return null;
+    }
+
+    /**
+     * Ends processing events.
+     *
+     * @param token the token returned by {@link #beginPoll()}
+     * @param mode  the GLFW function used, e.g. {@code poll} or {@code wait}
+     */
+    public static void endPoll(@Nullable Object token, String mode) {
+    }
+
+    /**
+     * Starts creating a window.
+     *
+     * @return the token to pass to {@link #endWindowCreate(Object, long, int, int)}
+     */
+    @Nullable
+    public static Object beginWindowCreate() {
+        return null;
+    }
+
+    /**
+     * Ends creating a window.
+     *
+     * @param token  the token returned by {@link #beginWindowCreate()}
+     * @param window the window handle, {@code NULL} if the creation failed
+     * @param width  the requested width
+     * @param height the requested height
+     */
+    public static void endWindowCreate(@Nullable Object token, long window, int width, int height) {
+    }
+
+    /**
+     * Starts destroying a window.
+     *
+     * @return the token to pass to {@link #endWindowDestroy(Object, long)}
+     */
+    @Nullable
+    public static Object beginWindowDestroy() {
+        return null;
+    }
+
+    /**
+     * Ends destroying a window.
+     *
+     * @param token  the token returned by {@link #beginWindowDestroy()}
+     * @param window the former window handle
+     */
+    public static void endWindowDestroy(@Nullable Object token, long window) {
+    }
+
+    /**
+     * Returns whether resize events are enabled in a running recording. Windows created while they are install the resize closures up front, so resizes
+     * are recorded whether or not the application sets a size callback.
+     *
+     * @return {@code false} on Java 8
+     */
+    public static boolean isResizeRecorded() {
+        return false;
+    }
+
+    /**
+     * Records a resize of a window.
+     *
+     * @param window      the window handle
+     * @param width       the new width
+     * @param height      the new height
+     * @param frameBuffer whether the size is the framebuffer size, in pixels, instead of the window size
+     */
+    public static void resize(long window, int width, int height, boolean frameBuffer) {
+    }
+
+    /**
+     * Records a monitor being connected or disconnected.
+     *
+     * @param monitor the monitor handle
+     * @param event   {@link org.lwjgl.glfw.GLFW#GLFW_CONNECTED CONNECTED} or {@link org.lwjgl.glfw.GLFW#GLFW_DISCONNECTED DISCONNECTED}
+     */
+    public static void monitor(long monitor, int event) {
+    }
+
+    /**
+     * Records a change of the cursor of a window.
+     *
+     * @param window the window handle
+     * @param cursor the cursor handle, {@code NULL} for the default cursor
+     * @param mode   the cursor mode, or {@code 0} if only the cursor image changed
+     */
+    public static void cursor(long window, long cursor, int mode) {
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.profile;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Native call counters of a single wrapper method, see {@link NativeCallProfiler}.
+ *
+ * <p>The counters are {@link LongAdder}s, striped per thread under contention, so counting never takes a lock. While profiling is disabled, every method
+ * costs one volatile read.</p>
+ *
+ * @author k4zoku
+ */
+public final class CallSite {
+
+    private final String name;
+    private final boolean timed;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private long frameStart;
+    private volatile long lastFrameCalls;
+
+    CallSite(@NotNull String name, boolean timed) {
+        this.name = name;
+        this.timed = timed;
+    }
+
+    /**
+     * Counts one native call.
+     */
+    public void count() {
+        if (NativeCallProfiler.enabled) {
+            calls.increment();
+        }
+    }
+
+    /**
+     * Counts native calls.
+     *
+     * @param count the number of native calls
+     */
+    public void count(int count) {
+        if (NativeCallProfiler.enabled) {
+            calls.add(count);
+        }
+    }
+
+    /**
+     * Counts one native call and starts timing it.
+     *
+     * @return the start time to pass to {@link #end(long)}, {@code 0} while profiling is disabled
+     */
+    public long begin() {
+        if (!NativeCallProfiler.enabled) {
+            return 0L;
+        }
+        calls.increment();
+        long now = System.nanoTime();
+        // Zero means "not timed", a clock reading of exactly zero is shifted by a nanosecond.
+        return now == 0L ? 1L : now;
+    }
+
+    /**
+     * Stops timing a native call.
+     *
+     * @param start the value returned by {@link #begin()}
+     */
+    public void end(long start) {
+        if (start != 0L) {
+            nanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the name of the wrapper method, e.g. {@code Window.swapBuffers}.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether the calls of this site are timed.
+     *
+     * @return whether the calls are timed
+     */
+    public boolean isTimed() {
+        return timed;
+    }
+
+    /**
+     * Returns the number of native calls since the last reset.
+     *
+     * @return the call count
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Returns the cumulative time spent in the timed calls since the last reset.
+     *
+     * @return the time, in nanoseconds, always zero for untimed sites
+     */
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * Returns the number of native calls during the last complete {@link NativeCallProfiler#frame() frame}.
+     *
+     * @return the call count
+     */
+    public long getLastFrameCalls() {
+        return lastFrameCalls;
+    }
+
+    void frame() {
+        long total = calls.sum();
+        lastFrameCalls = total - frameStart;
+        frameStart = total;
+    }
+
+    void reset() {
+        calls.reset();
+        nanos.reset();
+        frameStart = 0L;
+        lastFrameCalls = 0L;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + getCalls() + " calls";
+    }
+
+}
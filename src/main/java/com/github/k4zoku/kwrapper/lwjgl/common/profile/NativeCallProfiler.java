@@ -0,0 +1,217 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.profile;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Opt-in counter of the native calls made by the wrapper methods of {@code Window}, {@code Monitor} and {@code Cursor}.
+ *
+ * <p>Each instrumented method owns a {@link CallSite}, counting its native calls on lock-free striped counters. The slow ones, such as buffer swaps, window
+ * creation or video mode queries, also record their cumulative time. Calling {@link #frame()} once per frame turns the totals into per-frame counts, and
+ * {@link #report(int)} lists the busiest sites.</p>
+ *
+ * <pre>{@code
+ * NativeCallProfiler.enable();
+ * while (!window.shouldClose()) {
+ *     render();
+ *     window.swapBuffers();
+ *     glfwPollEvents();
+ *     NativeCallProfiler.frame();
+ * }
+ * System.out.println(NativeCallProfiler.report(10));
+ * }</pre>
+ *
+ * <p>Profiling can be switched at runtime. While disabled, an instrumented method pays a single volatile read.</p>
+ *
+ * @author k4zoku
+ */
+public final class NativeCallProfiler {
+
+    private static final List<CallSite> SITES = new CopyOnWriteArrayList<>();
+    private static final Comparator<CallSite> BY_CALLS = Comparator.comparingLong(CallSite::getCalls).reversed();
+    private static final Comparator<CallSite> BY_NANOS = Comparator.comparingLong(CallSite::getNanos).reversed();
+
+    static volatile boolean enabled;
+    private static volatile long frames;
+    private static volatile long lastFrameCalls;
+
+    private NativeCallProfiler() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Registers the call site of a wrapper method whose native calls are only counted.
+     *
+     * @param name the name of the wrapper method, e.g. {@code Window.getSize}
+     *
+     * @return the call site
+     */
+    public static CallSite site(@NotNull String name) {
+        return register(new CallSite(name, false));
+    }
+
+    /**
+     * Registers the call site of a slow wrapper method whose native calls are counted and timed.
+     *
+     * @param name the name of the wrapper method, e.g. {@code Window.swapBuffers}
+     *
+     * @return the call site
+     */
+    public static CallSite timedSite(@NotNull String name) {
+        return register(new CallSite(name, true));
+    }
+
+    /**
+     * Starts counting native calls.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops counting native calls, the counters keep their values.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns whether native calls are counted.
+     *
+     * @return whether profiling is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the end of a frame, updating the per-frame counts of every site. Call this once per frame from the thread running the frame loop.
+     */
+    public static synchronized void frame() {
+        if (!enabled) {
+            return;
+        }
+        long total = 0;
+        for (CallSite site : SITES) {
+            site.frame();
+            total += site.getLastFrameCalls();
+        }
+        lastFrameCalls = total;
+        frames++;
+    }
+
+    /**
+     * Returns the number of frames marked since the last reset.
+     *
+     * @return the frame count
+     */
+    public static long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the number of native calls of every site during the last frame.
+     *
+     * @return the call count
+     */
+    public static long getLastFrameCalls() {
+        return lastFrameCalls;
+    }
+
+    /**
+     * Returns the sites that made the most native calls.
+     *
+     * @param count the maximum number of sites
+     *
+     * @return the sites that made at least one call, busiest first
+     */
+    public static List<CallSite> top(int count) {
+        return top(count, BY_CALLS);
+    }
+
+    /**
+     * Returns the timed sites that spent the most time in native calls.
+     *
+     * @param count the maximum number of sites
+     *
+     * @return the timed sites that made at least one call, slowest first
+     */
+    public static List<CallSite> slowest(int count) {
+        List<CallSite> timed = new ArrayList<>();
+        for (CallSite site : top(Integer.MAX_VALUE, BY_NANOS)) {
+            if (site.isTimed()) {
+                timed.add(site);
+            }
+        }
+        return timed.size() > count ? new ArrayList<>(timed.subList(0, count)) : timed;
+    }
+
+    /**
+     * Formats the busiest and the slowest sites as a table.
+     *
+     * @param count the maximum number of sites in each list
+     *
+     * @return the report
+     */
+    public static String report(int count) {
+        long frameCount = frames;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Native calls over %d frames, %d in the last frame%n", frameCount, lastFrameCalls));
+        report.append(String.format("%-36s %12s %12s %10s%n", "Site", "Calls", "Per frame", "Last"));
+        for (CallSite site : top(count)) {
+            report.append(String.format("%-36s %12d %12.2f %10d%n",
+                    site.getName(), site.getCalls(), frameCount == 0 ? 0.0 : (double) site.getCalls() / frameCount, site.getLastFrameCalls()));
+        }
+        List<CallSite> slowest = slowest(count);
+        if (!slowest.isEmpty()) {
+            report.append(String.format("%-36s %12s %12s %10s%n", "Timed site", "Total ms", "Average us", "Calls"));
+            for (CallSite site : slowest) {
+                report.append(String.format("%-36s %12.3f %12.3f %10d%n",
+                        site.getName(), site.getNanos() / 1e6, site.getNanos() / 1e3 / Math.max(1, site.getCalls()), site.getCalls()));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Resets every counter.
+     */
+    public static synchronized void reset() {
+        for (CallSite site : SITES) {
+            site.reset();
+        }
+        frames = 0;
+        lastFrameCalls = 0;
+    }
+
+    /**
+     * Returns every registered site.
+     *
+     * @return an unmodifiable view of the sites
+     */
+    public static List<CallSite> getSites() {
+        return Collections.unmodifiableList(SITES);
+    }
+
+    private static CallSite register(CallSite site) {
+        SITES.add(site);
+        return site;
+    }
+
+    private static List<CallSite> top(int count, Comparator<CallSite> order) {
+        List<CallSite> sites = new ArrayList<>();
+        for (CallSite site : SITES) {
+            if (site.getCalls() > 0) {
+                sites.add(site);
+            }
+        }
+        sites.sort(order);
+        return sites.size() > count ? new ArrayList<>(sites.subList(0, count)) : sites;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.resource;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives the native resources that became unreachable without being destroyed.
+ *
+ * <p>Listeners are called from the tracker thread, not from the main thread.</p>
+ */
+public interface LeakListener {
+    /**
+     * Called once per leaked resource.
+     *
+     * @param type           the resource type, e.g. {@code "Window"}
+     * @param handle         the native handle of the resource
+     * @param allocationSite where the resource was created, or {@code null} if its creation was not sampled
+     */
+    void onLeak(String type, long handle, @Nullable Throwable allocationSite);
+}
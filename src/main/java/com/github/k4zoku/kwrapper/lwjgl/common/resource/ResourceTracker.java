@@ -0,0 +1,231 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.resource;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Opt-in tracker of native resources, reporting the ones that are never destroyed.
+ *
+ * <p>Every tracked resource is registered with a phantom reference queue, which works on the Java 8 baseline the same way a {@code java.lang.ref.Cleaner}
+ * does on newer JDKs. When a resource becomes unreachable while still tracked, it is reported to the {@link LeakListener} and its handle is kept so the
+ * native object can be reclaimed from the main thread with {@link #reclaimLeaks()}.</p>
+ *
+ * <p>Tracking is cheap enough to leave enabled: a registration is one small object and a concurrent set insertion, and the allocation site stack is only
+ * captured for one out of every {@link #enable(int) sample interval} resources. When disabled, registering returns {@code null} and costs a volatile
+ * read.</p>
+ *
+ * @author k4zoku
+ */
+public final class ResourceTracker {
+
+    /**
+     * The default number of registrations between two captured allocation sites.
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private static final ReferenceQueue<Destroyable> QUEUE = new ReferenceQueue<>();
+    private static final Set<TrackedResource> LIVE = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Map<String, AtomicInteger> COUNTS = new ConcurrentHashMap<>();
+    private static final Queue<TrackedResource> LEAKED = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong REGISTRATIONS = new AtomicLong();
+    private static final LeakListener PRINT = (type, handle, site) -> {
+        System.err.printf("[kwrapper] %s 0x%X was never destroyed%s%n", type, handle, site == null ? " (allocation site not sampled)" : ", allocated at:");
+        if (site != null) {
+            site.printStackTrace();
+        }
+    };
+
+    private static volatile boolean enabled;
+    private static volatile int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+    private static volatile LeakListener listener = PRINT;
+    private static Thread thread;
+
+    private ResourceTracker() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Enables tracking with the {@link #DEFAULT_SAMPLE_INTERVAL default sample interval}.
+     */
+    public static void enable() {
+        enable(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Enables tracking of resources created from now on.
+     *
+     * @param sampleInterval capture the allocation site of one out of every {@code sampleInterval} resources, 1 to capture all, 0 to capture none
+     */
+    public static synchronized void enable(int sampleInterval) {
+        if (sampleInterval < 0) {
+            throw new IllegalArgumentException("Invalid sample interval " + sampleInterval);
+        }
+        ResourceTracker.sampleInterval = sampleInterval;
+        ResourceTracker.enabled = true;
+        if (thread == null) {
+            thread = new Thread(ResourceTracker::run, "kwrapper-resource-tracker");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Disables tracking of resources created from now on. Resources already tracked are still reported if leaked.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns whether tracking is enabled.
+     *
+     * @return whether new resources are tracked
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the listener receiving leaks. The default listener prints them to {@link System#err}.
+     *
+     * @param listener the listener, or {@code null} to restore the default
+     */
+    public static void setLeakListener(@Nullable LeakListener listener) {
+        ResourceTracker.listener = listener == null ? PRINT : listener;
+    }
+
+    /**
+     * Starts tracking a native resource, if tracking is enabled.
+     *
+     * @param resource the wrapper owning the native handle
+     * @param type     the resource type, used for counts and reports
+     * @param handle   the native handle
+     * @param release  destroys the native handle of a leaked resource, must not reference the wrapper
+     *
+     * @return the registration to {@link TrackedResource#untrack() untrack} on destroy, or {@code null} if tracking is disabled
+     */
+    @Nullable
+    public static TrackedResource track(@NotNull Destroyable resource, String type, long handle, LongConsumer release) {
+        if (!enabled) {
+            return null;
+        }
+        int interval = sampleInterval;
+        Throwable site = null;
+        if (interval > 0 && REGISTRATIONS.getAndIncrement() % interval == 0) {
+            site = new Throwable(type + " allocation site");
+        }
+        TrackedResource tracked = new TrackedResource(resource, QUEUE, type, handle, release, site);
+        LIVE.add(tracked);
+        COUNTS.computeIfAbsent(type, key -> new AtomicInteger()).incrementAndGet();
+        return tracked;
+    }
+
+    static void untrack(TrackedResource tracked) {
+        if (LIVE.remove(tracked)) {
+            COUNTS.get(tracked.getType()).decrementAndGet();
+            tracked.clear();
+        }
+    }
+
+    /**
+     * Returns the number of live tracked resources of a type.
+     *
+     * @param type the resource type
+     *
+     * @return the number of tracked resources not destroyed yet
+     */
+    public static int getLiveCount(String type) {
+        AtomicInteger count = COUNTS.get(type);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the number of live tracked resources of every type.
+     *
+     * @return a snapshot of the counts, sorted by type
+     */
+    public static Map<String, Integer> getLiveCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        COUNTS.forEach((type, count) -> counts.put(type, count.get()));
+        return counts;
+    }
+
+    /**
+     * Destroys the native handles of the resources reported as leaked so far.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @return the number of reclaimed handles
+     */
+    public static int reclaimLeaks() {
+        int reclaimed = 0;
+        TrackedResource leaked;
+        while ((leaked = LEAKED.poll()) != null) {
+            leaked.release();
+            reclaimed++;
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Destroys every live tracked resource, then reclaims the leaked ones. Intended for shutdown, before terminating GLFW.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @return the number of destroyed resources
+     */
+    public static int destroyAll() {
+        List<TrackedResource> live = new ArrayList<>(LIVE);
+        int destroyed = 0;
+        for (TrackedResource tracked : live) {
+            Destroyable owner = tracked.owner();
+            if (owner != null) {
+                owner.destroy();
+            } else if (LIVE.remove(tracked)) {
+                COUNTS.get(tracked.getType()).decrementAndGet();
+                tracked.release();
+            } else {
+                continue;
+            }
+            destroyed++;
+        }
+        return destroyed + reclaimLeaks();
+    }
+
+    private static void run() {
+        while (true) {
+            TrackedResource tracked;
+            try {
+                tracked = (TrackedResource) QUEUE.remove();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!LIVE.remove(tracked)) {
+                continue;
+            }
+            COUNTS.get(tracked.getType()).decrementAndGet();
+            LEAKED.offer(tracked);
+            try {
+                listener.onLeak(tracked.getType(), tracked.getHandle(), tracked.getAllocationSite());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+}
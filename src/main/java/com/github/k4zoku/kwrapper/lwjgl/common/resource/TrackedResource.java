@@ -0,0 +1,82 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.resource;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.LongConsumer;
+
+/**
+ * Registration of a native resource with the {@link ResourceTracker}.
+ *
+ * <p>The owner of the resource keeps this registration and calls {@link #untrack()} when it destroys the native handle. A registration that is still
+ * tracked when its owner becomes unreachable is reported as a leak.</p>
+ *
+ * @author k4zoku
+ */
+public final class TrackedResource extends PhantomReference<Destroyable> {
+
+    private final String type;
+    private final long handle;
+    private final LongConsumer release;
+    private final WeakReference<Destroyable> owner;
+    @Nullable
+    private final Throwable allocationSite;
+
+    TrackedResource(Destroyable resource, ReferenceQueue<Destroyable> queue, String type, long handle, LongConsumer release,
+                    @Nullable Throwable allocationSite) {
+        super(resource, queue);
+        this.type = type;
+        this.handle = handle;
+        this.release = release;
+        this.owner = new WeakReference<>(resource);
+        this.allocationSite = allocationSite;
+    }
+
+    /**
+     * Stops tracking the resource, to be called once its native handle is destroyed.
+     */
+    public void untrack() {
+        ResourceTracker.untrack(this);
+    }
+
+    /**
+     * Returns the resource type.
+     *
+     * @return the resource type
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the native handle of the resource.
+     *
+     * @return the native handle
+     */
+    public long getHandle() {
+        return handle;
+    }
+
+    /**
+     * Returns where the resource was created, if its creation was sampled.
+     *
+     * @return the allocation site, or {@code null}
+     */
+    @Nullable
+    public Throwable getAllocationSite() {
+        return allocationSite;
+    }
+
+    @Nullable
+    Destroyable owner() {
+        return owner.get();
+    }
+
+    void release() {
+        release.accept(handle);
+    }
+
+}
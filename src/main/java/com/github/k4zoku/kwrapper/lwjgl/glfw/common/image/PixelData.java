@@ -0,0 +1,89 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.common.image;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Helpers to move Java pixel data into the layout expected by GLFW.
+ *
+ * <p>GLFW images are 32-bit, little-endian, non-premultiplied RGBA, i.e. eight bits per channel with the red channel first, arranged as packed sequential
+ * rows starting from the top-left corner. Java images are usually handled as packed {@code int} ARGB values, so every conversion goes through here.</p>
+ *
+ * @author k4zoku
+ */
+public final class PixelData {
+
+    private PixelData() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Decodes an image with {@link ImageIO}.
+     *
+     * @param path the image file
+     *
+     * @return the decoded image
+     *
+     * @throws IOException if the file cannot be read or its format is not supported
+     */
+    public static BufferedImage decode(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return decode(in);
+        }
+    }
+
+    /**
+     * Decodes an image with {@link ImageIO}. The stream is not closed.
+     *
+     * @param in the encoded image
+     *
+     * @return the decoded image
+     *
+     * @throws IOException if the stream cannot be read or its format is not supported
+     */
+    public static BufferedImage decode(InputStream in) throws IOException {
+        BufferedImage image = ImageIO.read(in);
+        if (image == null) {
+            throw new IOException("Unsupported image format");
+        }
+        return image;
+    }
+
+    /**
+     * Returns the pixels of an image as packed, non-premultiplied ARGB values.
+     *
+     * @param image the image
+     *
+     * @return the pixels, row by row, starting from the top-left corner
+     */
+    public static int[] toArgb(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    /**
+     * Writes packed ARGB pixels into {@code dst} as GLFW RGBA bytes, starting at the buffer's current position. The position is advanced.
+     *
+     * @param dst    the destination buffer, must have at least {@code count * 4} bytes remaining
+     * @param argb   the source pixels
+     * @param offset the index of the first pixel to convert
+     * @param count  the number of pixels to convert
+     */
+    public static void putRgba(ByteBuffer dst, int[] argb, int offset, int count) {
+        int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            int pixel = argb[i];
+            dst.put((byte) (pixel >>> 16));
+            dst.put((byte) (pixel >>> 8));
+            dst.put((byte) pixel);
+            dst.put((byte) (pixel >>> 24));
+        }
+    }
+
+}
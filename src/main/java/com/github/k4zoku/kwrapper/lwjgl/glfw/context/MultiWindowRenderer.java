@@ -0,0 +1,524 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.context;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.exception.GLFWRuntimeException;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallbackI;
+import org.lwjgl.glfw.GLFWWindowCloseCallbackI;
+import org.lwjgl.glfw.GLFWWindowFocusCallbackI;
+import org.lwjgl.glfw.GLFWWindowIconifyCallbackI;
+import org.lwjgl.glfw.GLFWWindowSizeCallbackI;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Phaser;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Renders many windows in parallel on a fixed pool of worker threads.
+ *
+ * <p>Each window is assigned to the least loaded worker when it is {@link #add(Window, Renderer) added} and keeps it, so its context never moves between
+ * threads. {@link #renderFrame()} renders every window on its worker, waits until all of them are rendered, then swaps them all, so every window shows the
+ * same frame. Iconified and hidden windows are skipped, the focused window is rendered first on its worker, and unfocused windows can be throttled with
+ * {@link #setBackgroundInterval(int)}. The state of the windows is cached from the managed callbacks, so scheduling a frame makes no native call.</p>
+ *
+ * <pre>{@code
+ * MultiWindowRenderer renderer = new MultiWindowRenderer(Runtime.getRuntime().availableProcessors());
+ * for (Window window : windows) {
+ *     renderer.add(window, state -> drawDashboard(state));
+ * }
+ * while (running) {
+ *     glfwPollEvents();
+ *     renderer.renderFrame();
+ * }
+ * renderer.destroy();
+ * }</pre>
+ *
+ * <p>The windows of a worker are rendered in priority order and swapped in reverse order, so each worker switches contexts {@code 2 * (n - 1)} times per
+ * frame for {@code n} windows, and not at all when it renders a single window.</p>
+ *
+ * <p>Swapping several windows with a swap interval of {@code 1} on the same worker waits for one refresh per window, set the interval of all but one
+ * window of each worker to {@code 0} from their {@link Renderer#init()}. All methods must only be called from the main thread, and the windows must not be
+ * current on it.</p>
+ *
+ * @author k4zoku
+ */
+public class MultiWindowRenderer implements Destroyable {
+
+    private static final Comparator<Entry> PRIORITY = (a, b) -> Boolean.compare(b.state.focused, a.state.focused);
+
+    private final Worker[] workers;
+    private final List<Entry> entries = new ArrayList<>();
+    private final Phaser phaser = new Phaser(1);
+
+    private int backgroundInterval = 1;
+    private long frame;
+    private int renderedWindows;
+    private int skippedWindows;
+    private long lastFrameNanos;
+    private boolean destroyed;
+
+    /**
+     * Creates the worker threads.
+     *
+     * @param threads the number of worker threads
+     */
+    public MultiWindowRenderer(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Invalid thread count " + threads);
+        }
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i);
+            workers[i].thread.start();
+        }
+    }
+
+    /**
+     * Adds a window, assigned to the worker rendering the fewest windows. The window state recorders chain to the managed callback targets set before.
+     *
+     * @param window   the window
+     * @param renderer the rendering code of the window
+     */
+    public void add(@NotNull Window window, @NotNull Renderer renderer) {
+        checkDestroyed();
+        Worker worker = workers[0];
+        for (Worker candidate : workers) {
+            if (candidate.entries.size() < worker.entries.size()) {
+                worker = candidate;
+            }
+        }
+        if (window.isContextCurrent()) {
+            Window.releaseCurrentContext();
+        }
+        Entry entry = new Entry(window, renderer, worker);
+        entries.add(entry);
+        worker.entries.add(entry);
+    }
+
+    /**
+     * Removes a window, disposing its renderer and releasing its context on its worker, and puts back the managed callback targets set before it was
+     * added. The window can be destroyed afterwards.
+     *
+     * @param window the window
+     *
+     * @return whether the window was added
+     */
+    public boolean remove(@NotNull Window window) {
+        for (Entry entry : entries) {
+            if (entry.window == window) {
+                entries.remove(entry);
+                entry.worker.entries.remove(entry);
+                entry.detach();
+                entry.worker.call(() -> entry.worker.release(entry));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the number of frames between two renders of windows that are not focused, e.g. {@code 2} to render them at half the rate.
+     *
+     * @param backgroundInterval the interval, {@code 1} by default
+     */
+    public void setBackgroundInterval(int backgroundInterval) {
+        if (backgroundInterval <= 0) {
+            throw new IllegalArgumentException("Invalid background interval " + backgroundInterval);
+        }
+        this.backgroundInterval = backgroundInterval;
+    }
+
+    /**
+     * Renders a frame of every visible window in parallel, then swaps their buffers, and waits for all workers.
+     *
+     * @throws GLFWRuntimeException if a renderer failed
+     */
+    public void renderFrame() {
+        checkDestroyed();
+        long start = System.nanoTime();
+        boolean background = frame++ % backgroundInterval == 0;
+        int rendered = 0;
+        int active = 0;
+        for (Worker worker : workers) {
+            worker.scheduled.clear();
+            for (Entry entry : worker.entries) {
+                WindowState state = entry.state;
+                if (state.iconified || !entry.visible || state.frameBufferWidth == 0 || state.frameBufferHeight == 0
+                        || !state.focused && !background) {
+                    continue;
+                }
+                state.sequence = frame;
+                state.time = start;
+                worker.scheduled.add(entry);
+            }
+            worker.scheduled.sort(PRIORITY);
+            rendered += worker.scheduled.size();
+            if (!worker.scheduled.isEmpty()) {
+                active++;
+            }
+        }
+        this.renderedWindows = rendered;
+        this.skippedWindows = entries.size() - rendered;
+        if (active > 0) {
+            runPhase(active, false);
+            runPhase(active, true);
+        }
+        this.lastFrameNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Returns the number of windows rendered by the last frame.
+     *
+     * @return the rendered window count
+     */
+    public int getRenderedWindows() {
+        return renderedWindows;
+    }
+
+    /**
+     * Returns the number of windows skipped by the last frame, because they were iconified, hidden or throttled.
+     *
+     * @return the skipped window count
+     */
+    public int getSkippedWindows() {
+        return skippedWindows;
+    }
+
+    /**
+     * Returns the duration of the last frame, from scheduling to the last swap.
+     *
+     * @return the duration, in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the thread count
+     */
+    public int getThreadCount() {
+        return workers.length;
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Disposes the renderers, releases the contexts and stops the worker threads. The windows are not destroyed.
+     */
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        for (Entry entry : new ArrayList<>(entries)) {
+            remove(entry.window);
+        }
+        destroyed = true;
+        boolean interrupted = false;
+        for (Worker worker : workers) {
+            worker.tasks.add(Stop.INSTANCE);
+            while (worker.thread.isAlive()) {
+                try {
+                    worker.thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runPhase(int active, boolean swap) {
+        phaser.bulkRegister(active);
+        for (Worker worker : workers) {
+            if (!worker.scheduled.isEmpty()) {
+                worker.tasks.add(swap ? worker.swapTask : worker.renderTask);
+            }
+        }
+        phaser.arriveAndAwaitAdvance();
+        for (Worker worker : workers) {
+            Throwable failure = worker.failure;
+            if (failure != null) {
+                worker.failure = null;
+                throw new GLFWRuntimeException("Rendering failed on " + worker.thread.getName(), failure);
+            }
+        }
+    }
+
+    private void checkDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("Multi-window renderer is destroyed");
+        }
+    }
+
+    /**
+     * A window, its renderer and its state cached from the managed callbacks.
+     */
+    private static final class Entry {
+        final Window window;
+        final Renderer renderer;
+        final Worker worker;
+        final WindowState state = new WindowState();
+        boolean visible;
+        GLCapabilities capabilities;
+        int width = -1;
+        int height = -1;
+        volatile boolean detached;
+
+        final GLFWWindowSizeCallbackI previousSize;
+        final GLFWWindowSizeCallbackI size;
+        final GLFWFramebufferSizeCallbackI previousFrameBufferSize;
+        final GLFWFramebufferSizeCallbackI frameBufferSize;
+        final GLFWWindowFocusCallbackI previousFocus;
+        final GLFWWindowFocusCallbackI focus;
+        final GLFWWindowIconifyCallbackI previousIconify;
+        final GLFWWindowIconifyCallbackI iconify;
+        final GLFWWindowCloseCallbackI previousClose;
+        final GLFWWindowCloseCallbackI close;
+
+        Entry(Window window, Renderer renderer, Worker worker) {
+            this.window = window;
+            this.renderer = renderer;
+            this.worker = worker;
+            Size<Integer> windowSize = window.getSize();
+            Size<Integer> windowFrameBufferSize = window.getFrameBufferSize();
+            state.width = windowSize.getWidth();
+            state.height = windowSize.getHeight();
+            state.frameBufferWidth = windowFrameBufferSize.getWidth();
+            state.frameBufferHeight = windowFrameBufferSize.getHeight();
+            state.focused = window.getAttribute(GLFW_FOCUSED) == GLFW_TRUE;
+            state.iconified = window.getAttribute(GLFW_ICONIFIED) == GLFW_TRUE;
+            state.closeRequested = window.shouldClose();
+            // Visibility has no callback, windows are expected to be shown before they are added.
+            visible = window.getAttribute(GLFW_VISIBLE) == GLFW_TRUE;
+
+            WindowCallbacks callbacks = window.getCallbacks();
+            this.previousSize = callbacks.getSize();
+            this.size = (handle, w, h) -> {
+                if (!detached) {
+                    state.width = w;
+                    state.height = h;
+                }
+                if (previousSize != null) {
+                    previousSize.invoke(handle, w, h);
+                }
+            };
+            callbacks.setSize(size);
+            this.previousFrameBufferSize = callbacks.getFrameBufferSize();
+            this.frameBufferSize = (handle, w, h) -> {
+                if (!detached) {
+                    state.frameBufferWidth = w;
+                    state.frameBufferHeight = h;
+                }
+                if (previousFrameBufferSize != null) {
+                    previousFrameBufferSize.invoke(handle, w, h);
+                }
+            };
+            callbacks.setFrameBufferSize(frameBufferSize);
+            this.previousFocus = callbacks.getFocus();
+            this.focus = (handle, focused) -> {
+                if (!detached) {
+                    state.focused = focused;
+                }
+                if (previousFocus != null) {
+                    previousFocus.invoke(handle, focused);
+                }
+            };
+            callbacks.setFocus(focus);
+            this.previousIconify = callbacks.getIconify();
+            this.iconify = (handle, iconified) -> {
+                if (!detached) {
+                    state.iconified = iconified;
+                }
+                if (previousIconify != null) {
+                    previousIconify.invoke(handle, iconified);
+                }
+            };
+            callbacks.setIconify(iconify);
+            this.previousClose = callbacks.getClose();
+            this.close = handle -> {
+                if (!detached) {
+                    state.closeRequested = true;
+                }
+                if (previousClose != null) {
+                    previousClose.invoke(handle);
+                }
+            };
+            callbacks.setClose(close);
+        }
+
+        /**
+         * Puts back the managed callback targets captured when the window was added. A target chained by something else since then is left installed, and
+         * only forwards to the target it captured.
+         */
+        void detach() {
+            this.detached = true;
+            WindowCallbacks callbacks = window.getCallbacks();
+            if (callbacks.getSize() == size) {
+                callbacks.setSize(previousSize);
+            }
+            if (callbacks.getFrameBufferSize() == frameBufferSize) {
+                callbacks.setFrameBufferSize(previousFrameBufferSize);
+            }
+            if (callbacks.getFocus() == focus) {
+                callbacks.setFocus(previousFocus);
+            }
+            if (callbacks.getIconify() == iconify) {
+                callbacks.setIconify(previousIconify);
+            }
+            if (callbacks.getClose() == close) {
+                callbacks.setClose(previousClose);
+            }
+        }
+    }
+
+    /**
+     * A worker thread and the windows assigned to it.
+     */
+    private final class Worker {
+        final Thread thread;
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        final List<Entry> entries = new ArrayList<>();
+        final List<Entry> scheduled = new ArrayList<>();
+        final Runnable renderTask = () -> runScheduled(false);
+        final Runnable swapTask = () -> runScheduled(true);
+        volatile Throwable failure;
+        Entry current;
+
+        Worker(int index) {
+            this.thread = new Thread(this::run, "kwrapper-render-worker-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void run() {
+            try {
+                while (true) {
+                    Runnable task = tasks.take();
+                    if (task == Stop.INSTANCE) {
+                        return;
+                    }
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                makeCurrent(null);
+            }
+        }
+
+        void runScheduled(boolean swap) {
+            try {
+                if (swap) {
+                    // Swap in reverse order, starting with the context the render pass ended with and ending with the one the next frame starts with.
+                    for (int i = scheduled.size() - 1; i >= 0; i--) {
+                        Entry entry = scheduled.get(i);
+                        makeCurrent(entry);
+                        entry.window.swapBuffers();
+                    }
+                    return;
+                }
+                for (Entry entry : scheduled) {
+                    makeCurrent(entry);
+                    WindowState state = entry.state;
+                    if (state.frameBufferWidth != entry.width || state.frameBufferHeight != entry.height) {
+                        entry.width = state.frameBufferWidth;
+                        entry.height = state.frameBufferHeight;
+                        entry.renderer.resize(entry.width, entry.height);
+                    }
+                    entry.renderer.render(state);
+                }
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                phaser.arriveAndDeregister();
+            }
+        }
+
+        void makeCurrent(Entry entry) {
+            if (entry == current) {
+                return;
+            }
+            if (entry == null) {
+                GL.setCapabilities(null);
+                Window.releaseCurrentContext();
+            } else {
+                entry.window.makeContextCurrent();
+                if (entry.capabilities == null) {
+                    entry.capabilities = GL.createCapabilities();
+                    entry.renderer.init();
+                } else {
+                    GL.setCapabilities(entry.capabilities);
+                }
+            }
+            current = entry;
+        }
+
+        void release(Entry entry) {
+            if (entry.capabilities != null) {
+                makeCurrent(entry);
+                entry.renderer.dispose();
+            }
+            makeCurrent(null);
+        }
+
+        void call(Runnable task) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            tasks.add(() -> {
+                try {
+                    task.run();
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        future.get();
+                        return;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                throw new GLFWRuntimeException("Releasing a window failed on " + thread.getName(), e.getCause());
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Poison pill stopping one worker thread.
+     */
+    private enum Stop implements Runnable {
+        INSTANCE;
+
+        @Override
+        public void run() {
+        }
+    }
+
+}
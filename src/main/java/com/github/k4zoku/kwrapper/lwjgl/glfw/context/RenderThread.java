@@ -0,0 +1,260 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.context;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.concurrent.TripleBuffer;
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Position;
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWCursorPosCallbackI;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallbackI;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+import org.lwjgl.glfw.GLFWMouseButtonCallbackI;
+import org.lwjgl.glfw.GLFWWindowCloseCallbackI;
+import org.lwjgl.glfw.GLFWWindowFocusCallbackI;
+import org.lwjgl.glfw.GLFWWindowIconifyCallbackI;
+import org.lwjgl.glfw.GLFWWindowSizeCallbackI;
+import org.lwjgl.opengl.GL;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Dedicated render thread owning the context and the {@link Window#swapBuffers() swaps} of a {@link Window}, while the main thread only pumps events.
+ *
+ * <p>The main thread records the window and input state from the managed callbacks, and {@link #publish() publishes} a {@link WindowState} snapshot after
+ * each event poll through a lock-free {@link TripleBuffer}. The render thread renders every frame with the latest snapshot, so a long event poll does not
+ * stall rendering and a slow frame does not stall event handling. Framebuffer resizes reach the {@link Renderer#resize(int, int) renderer} through the
+ * snapshots, and a close request ends the render loop, after which the main thread sees {@link #isRunning()} turn false; neither thread waits for the
+ * other.</p>
+ *
+ * <pre>{@code
+ * RenderThread renderThread = new RenderThread(window, state -> {
+ *     glClear(GL_COLOR_BUFFER_BIT);
+ * });
+ * renderThread.start();
+ * while (renderThread.isRunning()) {
+ *     glfwWaitEvents();
+ *     renderThread.publish();
+ * }
+ * renderThread.join();
+ * window.destroy();
+ * }</pre>
+ *
+ * <p>The callbacks chain to the managed callback targets set before the render thread was created. The close flag of the window is left untouched, the
+ * main thread decides when to destroy it.</p>
+ *
+ * @author k4zoku
+ */
+public class RenderThread {
+
+    private static final long ICONIFIED_SLEEP = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Window window;
+    private final Renderer renderer;
+    private final Thread thread;
+    private final WindowState live = new WindowState();
+    private final TripleBuffer<WindowState> buffer = new TripleBuffer<>(WindowState::new);
+
+    private volatile boolean running;
+    private volatile boolean stopRequested;
+    private volatile Throwable failure;
+    private long sequence;
+
+    /**
+     * Creates a render thread for the window, and installs the state recorders on its managed callbacks.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param window   the window to render to
+     * @param renderer the rendering code
+     */
+    public RenderThread(@NotNull Window window, @NotNull Renderer renderer) {
+        this.window = window;
+        this.renderer = renderer;
+        this.thread = new Thread(this::run, "kwrapper-render-thread");
+
+        Size<Integer> size = window.getSize();
+        Size<Integer> frameBufferSize = window.getFrameBufferSize();
+        Position<Double> cursor = window.getCursorPosition();
+        live.width = size.getWidth();
+        live.height = size.getHeight();
+        live.frameBufferWidth = frameBufferSize.getWidth();
+        live.frameBufferHeight = frameBufferSize.getHeight();
+        live.cursorX = cursor.getX();
+        live.cursorY = cursor.getY();
+        live.focused = window.getAttribute(GLFW_FOCUSED) == GLFW_TRUE;
+        live.iconified = window.getAttribute(GLFW_ICONIFIED) == GLFW_TRUE;
+        live.closeRequested = window.shouldClose();
+        install(window.getCallbacks());
+        publish();
+    }
+
+    /**
+     * Starts the render thread. The context of the window is released from the calling thread and made current on the render thread.
+     */
+    public void start() {
+        if (window.isContextCurrent()) {
+            Window.releaseCurrentContext();
+        }
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Publishes a snapshot of the current state to the render thread. Call this after every event poll.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     */
+    public void publish() {
+        WindowState back = buffer.getBack();
+        back.copyFrom(live);
+        back.sequence = sequence++;
+        back.time = System.nanoTime();
+        buffer.publish();
+    }
+
+    /**
+     * Asks the render thread to stop after the current frame, without waiting for it.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Waits for the render thread to finish.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        thread.join();
+    }
+
+    /**
+     * Returns whether the render loop is running. It stops after a close request, {@link #stop()} or a failure of the renderer.
+     *
+     * @return whether the render loop is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the exception that stopped the render loop.
+     *
+     * @return the failure, or {@code null}
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    private void install(WindowCallbacks callbacks) {
+        GLFWWindowSizeCallbackI previousSize = callbacks.getSize();
+        callbacks.setSize((handle, width, height) -> {
+            live.width = width;
+            live.height = height;
+            if (previousSize != null) {
+                previousSize.invoke(handle, width, height);
+            }
+        });
+        GLFWFramebufferSizeCallbackI previousFrameBufferSize = callbacks.getFrameBufferSize();
+        callbacks.setFrameBufferSize((handle, width, height) -> {
+            live.frameBufferWidth = width;
+            live.frameBufferHeight = height;
+            if (previousFrameBufferSize != null) {
+                previousFrameBufferSize.invoke(handle, width, height);
+            }
+        });
+        GLFWCursorPosCallbackI previousCursorPosition = callbacks.getCursorPosition();
+        callbacks.setCursorPosition((handle, x, y) -> {
+            live.cursorX = x;
+            live.cursorY = y;
+            if (previousCursorPosition != null) {
+                previousCursorPosition.invoke(handle, x, y);
+            }
+        });
+        GLFWMouseButtonCallbackI previousMouseButton = callbacks.getMouseButton();
+        callbacks.setMouseButton((handle, button, action, mods) -> {
+            if (button >= 0 && button < Integer.SIZE) {
+                live.mouseButtons = action == GLFW_RELEASE ? live.mouseButtons & ~(1 << button) : live.mouseButtons | (1 << button);
+            }
+            live.mods = mods;
+            if (previousMouseButton != null) {
+                previousMouseButton.invoke(handle, button, action, mods);
+            }
+        });
+        GLFWKeyCallbackI previousKey = callbacks.getKey();
+        callbacks.setKey((handle, key, scancode, action, mods) -> {
+            if (key >= 0 && key < live.keys.length) {
+                live.keys[key] = action != GLFW_RELEASE;
+            }
+            live.mods = mods;
+            if (previousKey != null) {
+                previousKey.invoke(handle, key, scancode, action, mods);
+            }
+        });
+        GLFWWindowFocusCallbackI previousFocus = callbacks.getFocus();
+        callbacks.setFocus((handle, focused) -> {
+            live.focused = focused;
+            if (previousFocus != null) {
+                previousFocus.invoke(handle, focused);
+            }
+        });
+        GLFWWindowIconifyCallbackI previousIconify = callbacks.getIconify();
+        callbacks.setIconify((handle, iconified) -> {
+            live.iconified = iconified;
+            if (previousIconify != null) {
+                previousIconify.invoke(handle, iconified);
+            }
+        });
+        GLFWWindowCloseCallbackI previousClose = callbacks.getClose();
+        callbacks.setClose(handle -> {
+            live.closeRequested = true;
+            if (previousClose != null) {
+                previousClose.invoke(handle);
+            }
+        });
+    }
+
+    private void run() {
+        window.makeContextCurrent();
+        try {
+            GL.createCapabilities();
+            renderer.init();
+            int width = -1;
+            int height = -1;
+            while (!stopRequested) {
+                buffer.update();
+                WindowState state = buffer.getFront();
+                if (state.closeRequested) {
+                    break;
+                }
+                if (state.iconified || state.frameBufferWidth == 0 || state.frameBufferHeight == 0) {
+                    LockSupport.parkNanos(ICONIFIED_SLEEP);
+                    continue;
+                }
+                if (state.frameBufferWidth != width || state.frameBufferHeight != height) {
+                    width = state.frameBufferWidth;
+                    height = state.frameBufferHeight;
+                    renderer.resize(width, height);
+                }
+                renderer.render(state);
+                window.swapBuffers();
+            }
+            renderer.dispose();
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            GL.setCapabilities(null);
+            Window.releaseCurrentContext();
+            running = false;
+            // Wake up a main thread blocked in glfwWaitEvents
+            glfwPostEmptyEvent();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.context;
+
+/**
+ * Rendering code run by a {@link RenderThread}, with the context of the window current.
+ *
+ * @author k4zoku
+ */
+@FunctionalInterface
+public interface Renderer {
+
+    /**
+     * Called once on the render thread before the first frame.
+     */
+    default void init() {
+    }
+
+    /**
+     * Called before rendering when the framebuffer size differs from the previous frame, including the first one.
+     *
+     * @param width  the width of the framebuffer, in pixels
+     * @param height the height of the framebuffer, in pixels
+     */
+    default void resize(int width, int height) {
+    }
+
+    /**
+     * Renders one frame, the buffers are swapped afterwards.
+     *
+     * @param state the latest snapshot published by the main thread
+     */
+    void render(WindowState state);
+
+    /**
+     * Called once on the render thread after the last frame, while the context is still current.
+     */
+    default void dispose() {
+    }
+}
@@ -0,0 +1,342 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.context;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.monitor.Monitor;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowHints;
+import org.lwjgl.opengl.GL;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL32.*;
+
+/**
+ * A pool of loader threads, each owning a hidden window whose context shares objects with a main window.
+ *
+ * <p>Tasks submitted to the pool run on a loader thread with its shared context current, so they can upload textures, buffers, etc. without stalling the
+ * render thread. After a task returns, the loader inserts a fence into its command stream; the task's future is completed by {@link #poll()} on the render
+ * thread only once the GPU has signaled that fence, so the uploaded objects are safe to use as soon as the result is received.</p>
+ *
+ * <p>The contexts are created once and reused for every task. Fences require OpenGL 3.2 or {@code ARB_sync}.</p>
+ *
+ * <pre>{@code
+ * SharedContextPool loaders = new SharedContextPool(window, 2);
+ * loaders.submit(() -> uploadTexture(image)).thenAccept(texture -> material.setTexture(texture));
+ * while (!window.shouldClose()) {
+ *     loaders.poll();
+ *     render();
+ * }
+ * loaders.destroy();
+ * }</pre>
+ *
+ * @author k4zoku
+ */
+public class SharedContextPool implements Destroyable {
+
+    private final Window[] contexts;
+    private final Thread[] threads;
+    private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+    private final Queue<Completion<?>> completed = new ConcurrentLinkedQueue<>();
+    private final ArrayDeque<Completion<?>> pending = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private volatile boolean destroyed;
+    private int liveThreads;
+    private Throwable loaderFailure;
+
+    /**
+     * Creates the hidden shared contexts and starts one loader thread per context.
+     *
+     * <p>The current window hints are used to create the contexts, except {@link org.lwjgl.glfw.GLFW#GLFW_VISIBLE VISIBLE} which is forced to false and
+     * reset to its default afterwards.</p>
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param share the window to share objects with
+     * @param size  the number of loader threads and contexts
+     */
+    public SharedContextPool(Window share, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid pool size " + size);
+        }
+        this.contexts = new Window[size];
+        this.threads = new Thread[size];
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        try {
+            for (int i = 0; i < size; i++) {
+                contexts[i] = new Window(1, 1, "", (Monitor) null, share.getPointer());
+            }
+        } catch (RuntimeException e) {
+            for (Window context : contexts) {
+                if (context != null) {
+                    context.destroy();
+                }
+            }
+            throw e;
+        } finally {
+            glfwWindowHint(GLFW_VISIBLE, GLFW_TRUE);
+            WindowHints.invalidate();
+        }
+        this.liveThreads = size;
+        for (int i = 0; i < size; i++) {
+            Window context = contexts[i];
+            threads[i] = new Thread(() -> run(context), "kwrapper-loader-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Returns the number of loader threads.
+     *
+     * @return the pool size
+     */
+    public int getSize() {
+        return threads.length;
+    }
+
+    /**
+     * Runs a task on a loader thread with a shared context current.
+     *
+     * <p>This function may be called from any thread.</p>
+     *
+     * @param task the task
+     * @param <T>  the result type
+     *
+     * @return a future completed from {@link #poll()} once the GL commands issued by the task have completed
+     *
+     * @throws RejectedExecutionException if the pool is destroyed, or every loader thread failed to initialize its context
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Task queued = new Task(future, () -> {
+            T result;
+            try {
+                result = task.call();
+            } catch (Throwable t) {
+                completed.add(new Completion<>(future, null, 0L, t));
+                return;
+            }
+            long fence = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+            glFlush();
+            completed.add(new Completion<>(future, result, fence, null));
+        });
+        // Enqueued under the lock shared with destroy and loader failures, so a task never lands behind the last stop pill.
+        synchronized (lock) {
+            if (destroyed) {
+                throw new RejectedExecutionException("Shared context pool is destroyed");
+            }
+            if (liveThreads == 0) {
+                throw new RejectedExecutionException("No loader thread could initialize its shared context", loaderFailure);
+            }
+            tasks.add(queued);
+        }
+        return future;
+    }
+
+    /**
+     * Completes the futures of the tasks whose fences are signaled, without waiting for the others.
+     *
+     * <p>This function must be called from the render thread, with a context sharing objects with the pool current.</p>
+     *
+     * @return the number of completed futures
+     */
+    public int poll() {
+        Completion<?> completion;
+        while ((completion = completed.poll()) != null) {
+            pending.add(completion);
+        }
+        int count = 0;
+        for (Iterator<Completion<?>> it = pending.iterator(); it.hasNext(); ) {
+            Completion<?> next = it.next();
+            if (next.tryComplete()) {
+                it.remove();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of tasks queued, running or waiting on their fence.
+     *
+     * @return the number of unfinished tasks
+     */
+    public int getPendingCount() {
+        return tasks.size() + completed.size() + pending.size();
+    }
+
+    /**
+     * Returns whether this pool is destroyed.
+     *
+     * @return whether this pool is destroyed
+     */
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Stops the loader threads once the queued tasks are done, then destroys the shared contexts. Futures still waiting on a fence are cancelled, and
+     * futures of tasks no loader thread could run are completed exceptionally.
+     *
+     * <p>This function must only be called from the main thread, with a context sharing objects with the pool current.</p>
+     */
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        synchronized (lock) {
+            this.destroyed = true;
+            for (Thread ignored : threads) {
+                tasks.add(Stop.INSTANCE);
+            }
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        failQueued(new RejectedExecutionException("Shared context pool is destroyed", loaderFailure));
+        for (Window context : contexts) {
+            context.destroy();
+        }
+        poll();
+        for (Completion<?> completion : pending) {
+            completion.cancel();
+        }
+        pending.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(Window context) {
+        try {
+            context.makeContextCurrent();
+            GL.createCapabilities();
+        } catch (Throwable t) {
+            Window.releaseCurrentContext();
+            synchronized (lock) {
+                if (loaderFailure == null) {
+                    loaderFailure = t;
+                }
+                // The remaining loaders keep taking tasks, once none is left the queued tasks would never run.
+                if (--liveThreads == 0) {
+                    failQueued(new RejectedExecutionException("No loader thread could initialize its shared context", t));
+                }
+            }
+            return;
+        }
+        try {
+            while (true) {
+                Runnable task = tasks.take();
+                if (task == Stop.INSTANCE) {
+                    return;
+                }
+                task.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            glFinish();
+            GL.setCapabilities(null);
+            Window.releaseCurrentContext();
+        }
+    }
+
+    private void failQueued(RejectedExecutionException failure) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            if (task instanceof Task) {
+                ((Task) task).future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * A queued task and its future, failed if no loader thread runs it.
+     */
+    private static final class Task implements Runnable {
+        private final CompletableFuture<?> future;
+        private final Runnable body;
+
+        Task(CompletableFuture<?> future, Runnable body) {
+            this.future = future;
+            this.body = body;
+        }
+
+        @Override
+        public void run() {
+            body.run();
+        }
+    }
+
+    /**
+     * Poison pill stopping one loader thread.
+     */
+    private enum Stop implements Runnable {
+        INSTANCE;
+
+        @Override
+        public void run() {
+        }
+    }
+
+    /**
+     * The result of a task, waiting for its fence.
+     */
+    private static final class Completion<T> {
+        private final CompletableFuture<T> future;
+        private final T result;
+        private final long fence;
+        private final Throwable error;
+
+        Completion(CompletableFuture<T> future, T result, long fence, Throwable error) {
+            this.future = future;
+            this.result = result;
+            this.fence = fence;
+            this.error = error;
+        }
+
+        boolean tryComplete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+                return true;
+            }
+            int status = glClientWaitSync(fence, 0, 0L);
+            if (status == GL_TIMEOUT_EXPIRED) {
+                return false;
+            }
+            glDeleteSync(fence);
+            if (status == GL_WAIT_FAILED) {
+                future.completeExceptionally(new IllegalStateException("Failed to wait on the upload fence"));
+            } else {
+                future.complete(result);
+            }
+            return true;
+        }
+
+        void cancel() {
+            if (fence != 0L) {
+                glDeleteSync(fence);
+            }
+            future.cancel(false);
+        }
+    }
+
+}
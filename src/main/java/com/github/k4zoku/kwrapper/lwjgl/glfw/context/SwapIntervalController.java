@@ -0,0 +1,300 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.context;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.monitor.Monitor;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWVidMode;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Swap interval controller adapting vertical synchronization to the measured frame times of a {@link Window}.
+ *
+ * <p>Once attached, every {@link Window#swapBuffers()} measures the time since the previous swap against the refresh period of the monitor. While
+ * frames meet the deadline the swap interval stays at {@code 1}. When too many frames of a sample window miss it, the controller falls back to adaptive
+ * vsync ({@code -1}, late swaps tear instead of waiting a whole period) if {@code GLX_EXT_swap_control_tear} or {@code WGL_EXT_swap_control_tear} is
+ * supported, and to {@code 0} otherwise.</p>
+ *
+ * <p>Once relaxed, swaps no longer wait for the refresh, so the time between swaps says nothing about whether vsync would hold again. Recovery is judged
+ * on the unsynced frame time instead, from the end of the previous swap to the next swap request: the controller goes back to {@code 1} only when the
+ * ratio of frames that do not finish well under one period, {@code 0.8} periods, drops below a lower threshold. A workload just over one period thus
+ * stays relaxed instead of flapping between intervals. Each decision is also kept for at least one second.</p>
+ *
+ * <pre>{@code
+ * window.makeContextCurrent();
+ * SwapIntervalController vsync = new SwapIntervalController(window);
+ * while (!window.shouldClose()) {
+ *     render();
+ *     window.swapBuffers();
+ *     glfwPollEvents();
+ * }
+ * }</pre>
+ *
+ * <p>The swap interval is set from {@link Window#swapBuffers()}, so the context of the window must be current on the thread swapping the buffers.</p>
+ *
+ * @author k4zoku
+ */
+public class SwapIntervalController {
+
+    /**
+     * The swap interval waiting for one screen update.
+     */
+    public static final int VSYNC = 1;
+
+    /**
+     * The swap interval swapping immediately.
+     */
+    public static final int IMMEDIATE = 0;
+
+    /**
+     * The swap interval waiting for one screen update, unless the frame is late.
+     */
+    public static final int ADAPTIVE = -1;
+
+    private static final int DEFAULT_SAMPLE_FRAMES = 60;
+    private static final double DEFAULT_DEGRADE_RATIO = 0.10;
+    private static final double DEFAULT_RECOVER_RATIO = 0.02;
+    private static final double DEADLINE_TOLERANCE = 1.2;
+    private static final double RECOVER_HEADROOM = 0.8;
+    private static final long MINIMUM_DWELL = 1_000_000_000L;
+    private static final int FALLBACK_REFRESH_RATE = 60;
+
+    private final Window window;
+
+    private long refreshPeriod;
+    private int sampleFrames = DEFAULT_SAMPLE_FRAMES;
+    private double degradeRatio = DEFAULT_DEGRADE_RATIO;
+    private double recoverRatio = DEFAULT_RECOVER_RATIO;
+    private boolean allowImmediate = true;
+
+    private int interval = VSYNC;
+    private boolean applied;
+    private int tearSupported = -1;
+    private long lastSwap;
+    private long lastSwitch;
+    private int sampleCount;
+    private int sampleMissed;
+    private int sampleSlow;
+
+    private long frames;
+    private long missedFrames;
+    private long switches;
+    private long lastFrameNanos;
+    private double averageFrameNanos;
+    private double lastMissedRatio;
+
+    /**
+     * Creates a controller for the window and attaches it, using the refresh rate of the monitor the window is full screen on, or of the primary
+     * monitor.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param window the window
+     */
+    public SwapIntervalController(@NotNull Window window) {
+        this.window = window;
+        Monitor monitor = glfwGetWindowMonitor(window.getPointer()) != NULL ? window.getMonitor() : Monitor.getPrimaryMonitor();
+        setMonitor(monitor);
+        window.setSwapIntervalController(this);
+    }
+
+    /**
+     * Reads the refresh period from the current video mode of a monitor, e.g. after the window moved to another monitor.
+     *
+     * @param monitor the monitor, or {@code null} to assume 60 Hz
+     */
+    public void setMonitor(@Nullable Monitor monitor) {
+        GLFWVidMode videoMode = monitor == null ? null : monitor.getVideoMode();
+        int refreshRate = videoMode == null || videoMode.refreshRate() <= 0 ? FALLBACK_REFRESH_RATE : videoMode.refreshRate();
+        setRefreshRate(refreshRate);
+    }
+
+    /**
+     * Sets the refresh rate frame times are measured against.
+     *
+     * @param refreshRate the refresh rate, in Hz
+     */
+    public void setRefreshRate(int refreshRate) {
+        if (refreshRate <= 0) {
+            throw new IllegalArgumentException("Invalid refresh rate " + refreshRate);
+        }
+        this.refreshPeriod = 1_000_000_000L / refreshRate;
+    }
+
+    /**
+     * Sets the number of frames over which the missed ratio is measured before making a decision.
+     *
+     * @param sampleFrames the number of frames, {@code 60} by default
+     */
+    public void setSampleFrames(int sampleFrames) {
+        if (sampleFrames <= 0) {
+            throw new IllegalArgumentException("Invalid sample frames " + sampleFrames);
+        }
+        this.sampleFrames = sampleFrames;
+    }
+
+    /**
+     * Sets the hysteresis thresholds.
+     *
+     * @param degradeRatio the missed ratio above which vsync is relaxed, {@code 0.1} by default
+     * @param recoverRatio the ratio of frames not finishing well under one period below which vsync is restored, {@code 0.02} by default
+     */
+    public void setThresholds(double degradeRatio, double recoverRatio) {
+        if (recoverRatio < 0 || recoverRatio >= degradeRatio || degradeRatio > 1) {
+            throw new IllegalArgumentException("Invalid thresholds " + degradeRatio + ", " + recoverRatio);
+        }
+        this.degradeRatio = degradeRatio;
+        this.recoverRatio = recoverRatio;
+    }
+
+    /**
+     * Sets whether vsync may be disabled entirely when adaptive vsync is not supported. When disallowed, the interval stays at {@code 1}.
+     *
+     * @param allowImmediate whether interval {@code 0} may be used
+     */
+    public void setAllowImmediate(boolean allowImmediate) {
+        this.allowImmediate = allowImmediate;
+    }
+
+    /**
+     * Detaches the controller from the window, leaving the current swap interval.
+     */
+    public void detach() {
+        window.setSwapIntervalController(null);
+    }
+
+    /**
+     * Called by {@link Window#swapBuffers()} after the buffers are swapped.
+     *
+     * @param submitted the time the swap was requested, in nanoseconds
+     * @param now       the current time, in nanoseconds
+     */
+    public void onSwap(long submitted, long now) {
+        if (!applied) {
+            glfwSwapInterval(interval);
+            applied = true;
+            lastSwitch = now;
+            lastSwap = now;
+            return;
+        }
+        long frame = now - lastSwap;
+        long work = submitted - lastSwap;
+        lastSwap = now;
+        frames++;
+        lastFrameNanos = frame;
+        averageFrameNanos = averageFrameNanos == 0 ? frame : averageFrameNanos + (frame - averageFrameNanos) * 0.05;
+        if (frame > refreshPeriod * DEADLINE_TOLERANCE) {
+            missedFrames++;
+            sampleMissed++;
+        }
+        if (work >= refreshPeriod * RECOVER_HEADROOM) {
+            sampleSlow++;
+        }
+        if (++sampleCount < sampleFrames) {
+            return;
+        }
+        lastMissedRatio = (double) sampleMissed / sampleCount;
+        double slowRatio = (double) sampleSlow / sampleCount;
+        sampleCount = 0;
+        sampleMissed = 0;
+        sampleSlow = 0;
+        if (now - lastSwitch < MINIMUM_DWELL) {
+            return;
+        }
+        int next = interval;
+        if (interval == VSYNC && lastMissedRatio > degradeRatio) {
+            next = isTearSupported() ? ADAPTIVE : allowImmediate ? IMMEDIATE : VSYNC;
+        } else if (interval != VSYNC && slowRatio < recoverRatio) {
+            next = VSYNC;
+        }
+        if (next != interval) {
+            interval = next;
+            glfwSwapInterval(interval);
+            lastSwitch = now;
+            switches++;
+        }
+    }
+
+    /**
+     * Returns the current swap interval.
+     *
+     * @return {@link #VSYNC}, {@link #ADAPTIVE} or {@link #IMMEDIATE}
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns the number of measured frames.
+     *
+     * @return the frame count
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the number of frames that missed the refresh deadline.
+     *
+     * @return the missed frame count
+     */
+    public long getMissedFrames() {
+        return missedFrames;
+    }
+
+    /**
+     * Returns the missed ratio of the last complete sample window.
+     *
+     * @return the ratio, between zero and one
+     */
+    public double getMissedRatio() {
+        return lastMissedRatio;
+    }
+
+    /**
+     * Returns the number of swap interval changes.
+     *
+     * @return the switch count
+     */
+    public long getSwitches() {
+        return switches;
+    }
+
+    /**
+     * Returns the duration of the last frame.
+     *
+     * @return the duration, in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Returns the exponential moving average of the frame duration.
+     *
+     * @return the duration, in nanoseconds
+     */
+    public double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+
+    /**
+     * Returns the refresh period frames are measured against.
+     *
+     * @return the period, in nanoseconds
+     */
+    public long getRefreshPeriod() {
+        return refreshPeriod;
+    }
+
+    private boolean isTearSupported() {
+        if (tearSupported == -1) {
+            // Requires the context to be current, which swapping already does.
+            tearSupported = glfwExtensionSupported("GLX_EXT_swap_control_tear") || glfwExtensionSupported("WGL_EXT_swap_control_tear") ? 1 : 0;
+        }
+        return tearSupported == 1;
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.context;
+
+import org.jetbrains.annotations.NotNull;
+
+import static org.lwjgl.glfw.GLFW.GLFW_KEY_LAST;
+
+/**
+ * Snapshot of the window and input state handed from the main thread to a {@link RenderThread}.
+ *
+ * @author k4zoku
+ */
+public class WindowState {
+
+    int width;
+    int height;
+    int frameBufferWidth;
+    int frameBufferHeight;
+    double cursorX;
+    double cursorY;
+    int mouseButtons;
+    int mods;
+    final boolean[] keys = new boolean[GLFW_KEY_LAST + 1];
+    boolean focused;
+    boolean iconified;
+    boolean closeRequested;
+    long sequence;
+    long time;
+
+    WindowState() {
+    }
+
+    void copyFrom(@NotNull WindowState other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.frameBufferWidth = other.frameBufferWidth;
+        this.frameBufferHeight = other.frameBufferHeight;
+        this.cursorX = other.cursorX;
+        this.cursorY = other.cursorY;
+        this.mouseButtons = other.mouseButtons;
+        this.mods = other.mods;
+        System.arraycopy(other.keys, 0, this.keys, 0, keys.length);
+        this.focused = other.focused;
+        this.iconified = other.iconified;
+        this.closeRequested = other.closeRequested;
+        this.sequence = other.sequence;
+        this.time = other.time;
+    }
+
+    /**
+     * Returns the width of the window.
+     *
+     * @return the width, in screen coordinates
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the window.
+     *
+     * @return the height, in screen coordinates
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the width of the framebuffer.
+     *
+     * @return the width, in pixels
+     */
+    public int getFrameBufferWidth() {
+        return frameBufferWidth;
+    }
+
+    /**
+     * Returns the height of the framebuffer.
+     *
+     * @return the height, in pixels
+     */
+    public int getFrameBufferHeight() {
+        return frameBufferHeight;
+    }
+
+    /**
+     * Returns the x-coordinate of the cursor, relative to the left edge of the content area.
+     *
+     * @return the x-coordinate, in screen coordinates
+     */
+    public double getCursorX() {
+        return cursorX;
+    }
+
+    /**
+     * Returns the y-coordinate of the cursor, relative to the top edge of the content area.
+     *
+     * @return the y-coordinate, in screen coordinates
+     */
+    public double getCursorY() {
+        return cursorY;
+    }
+
+    /**
+     * Returns whether a mouse button was held when the snapshot was taken.
+     *
+     * @param button the mouse button
+     *
+     * @return whether the button was held
+     */
+    public boolean isMouseButtonDown(int button) {
+        return button >= 0 && button < Integer.SIZE && (mouseButtons & (1 << button)) != 0;
+    }
+
+    /**
+     * Returns whether a key was held when the snapshot was taken.
+     *
+     * @param key the key
+     *
+     * @return whether the key was held
+     */
+    public boolean isKeyDown(int key) {
+        return key >= 0 && key < keys.length && keys[key];
+    }
+
+    /**
+     * Returns the modifier bits of the last key or mouse button event.
+     *
+     * @return the modifier bits
+     */
+    public int getMods() {
+        return mods;
+    }
+
+    /**
+     * Returns whether the window had input focus.
+     *
+     * @return whether the window was focused
+     */
+    public boolean isFocused() {
+        return focused;
+    }
+
+    /**
+     * Returns whether the window was iconified.
+     *
+     * @return whether the window was iconified
+     */
+    public boolean isIconified() {
+        return iconified;
+    }
+
+    /**
+     * Returns whether the user attempted to close the window.
+     *
+     * @return the value of the close flag
+     */
+    public boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    /**
+     * Returns the number of snapshots published before this one.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the time the snapshot was published at.
+     *
+     * @return the time, in nanoseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowState{" +
+                "sequence=" + sequence +
+                ", size=" + width + "x" + height +
+                ", frameBufferSize=" + frameBufferWidth + "x" + frameBufferHeight +
+                ", cursor=" + cursorX + "," + cursorY +
+                ", focused=" + focused +
+                ", iconified=" + iconified +
+                ", closeRequested=" + closeRequested +
+                ", keysDown=" + countKeys() +
+                '}';
+    }
+
+    private int countKeys() {
+        int count = 0;
+        for (boolean key : keys) {
+            if (key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
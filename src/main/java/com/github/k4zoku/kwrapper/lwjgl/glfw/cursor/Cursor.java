@@ -1,31 +1,55 @@
 package com.github.k4zoku.kwrapper.lwjgl.glfw.cursor;
 
 import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.CallSite;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.NativeCallProfiler;
+import com.github.k4zoku.kwrapper.lwjgl.common.resource.ResourceTracker;
+import com.github.k4zoku.kwrapper.lwjgl.common.resource.TrackedResource;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.common.pointer.Pointer;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.exception.GLFWRuntimeException;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWImage;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
 import static org.lwjgl.glfw.GLFW.glfwCreateCursor;
+import static org.lwjgl.glfw.GLFW.glfwCreateStandardCursor;
 import static org.lwjgl.glfw.GLFW.glfwDestroyCursor;
 import static org.lwjgl.system.MemoryUtil.NULL;
 
 public class Cursor extends Pointer implements Destroyable {
 
+    /*
+     * Native call counters, see NativeCallProfiler.
+     */
+    private static final CallSite CALL_CREATE = NativeCallProfiler.timedSite("Cursor.create");
+    private static final CallSite CALL_DESTROY = NativeCallProfiler.timedSite("Cursor.destroy");
+    private static final CallSite CALL_STANDARD = NativeCallProfiler.site("Cursor.standard");
+
     private boolean destroyed;
 
     /**
-     * Private constructor to wrap a pointer to a GLFW Cursor.
+     * The leak tracking registration, {@code null} if tracking was disabled on creation.
+     */
+    @Nullable
+    private final TrackedResource tracked;
+
+    /**
+     * Package-private constructor to wrap a pointer to a GLFW Cursor.
      *
      * @param pointer the pointer to a GLFW Cursor
      */
-    private Cursor(long pointer) {
+    Cursor(long pointer) {
         super(pointer);
         if (getPointer() == NULL) {
             throw new GLFWRuntimeException("Cannot create cursor");
         }
         this.destroyed = false;
+        this.tracked = ResourceTracker.track(this, "Cursor", pointer, GLFW::glfwDestroyCursor);
     }
 
     /**
@@ -52,7 +76,98 @@ public class Cursor extends Pointer implements Destroyable {
      * @since version 3.1
      */
     public Cursor(GLFWImage image, int xhot, int yhot) {
-        this(glfwCreateCursor(image, xhot, yhot));
+        this(create(image, xhot, yhot));
+    }
+
+    /**
+     * Creates the GLFW cursor, the image is copied before this returns.
+     */
+    static long create(GLFWImage image, int xhot, int yhot) {
+        long start = CALL_CREATE.begin();
+        try {
+            return glfwCreateCursor(image, xhot, yhot);
+        } finally {
+            CALL_CREATE.end(start);
+        }
+    }
+
+    /**
+     * Returns a cursor with a standard shape, that can be set for a window with {@link Window#setCursor SetCursor}.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param shape one of the standard shapes, e.g. {@link GLFW#GLFW_ARROW_CURSOR ARROW_CURSOR} or {@link GLFW#GLFW_HAND_CURSOR HAND_CURSOR}
+     *
+     * @return the cursor
+     *
+     * @since version 3.1
+     */
+    public static Cursor standard(int shape) {
+        CALL_STANDARD.count();
+        return new Cursor(glfwCreateStandardCursor(shape));
+    }
+
+    /**
+     * Creates a cursor from packed, non-premultiplied ARGB pixels, staged through a pooled native buffer.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param argb   the pixels, row by row, starting from the top-left corner
+     * @param width  the width of the image
+     * @param height the height of the image
+     * @param xhot   the desired x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot   the desired y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     *
+     * @see CursorFactory
+     */
+    public static Cursor fromPixels(int[] argb, int width, int height, int xhot, int yhot) {
+        try (CursorFactory factory = new CursorFactory()) {
+            return factory.fromPixels(argb, width, height, xhot, yhot);
+        }
+    }
+
+    /**
+     * Creates a cursor from 32-bit, non-premultiplied RGBA pixels. Heap buffers are staged through a pooled native buffer.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param rgba   the pixels, read from the buffer's current position
+     * @param width  the width of the image
+     * @param height the height of the image
+     * @param xhot   the desired x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot   the desired y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     *
+     * @see CursorFactory
+     */
+    public static Cursor fromBuffer(ByteBuffer rgba, int width, int height, int xhot, int yhot) {
+        try (CursorFactory factory = new CursorFactory()) {
+            return factory.fromBuffer(rgba, width, height, xhot, yhot);
+        }
+    }
+
+    /**
+     * Creates a cursor from an image file in any format supported by {@link javax.imageio.ImageIO ImageIO}.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param path the image file
+     * @param xhot the desired x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot the desired y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     *
+     * @throws IOException if the file cannot be read or decoded
+     *
+     * @see CursorFactory
+     */
+    public static Cursor fromFile(Path path, int xhot, int yhot) throws IOException {
+        try (CursorFactory factory = new CursorFactory()) {
+            return factory.fromFile(path, xhot, yhot);
+        }
     }
 
     /**
@@ -74,7 +189,12 @@ public class Cursor extends Pointer implements Destroyable {
             return;
         }
 
+        long start = CALL_DESTROY.begin();
         glfwDestroyCursor(getPointer());
+        CALL_DESTROY.end(start);
         this.destroyed = true;
+        if (tracked != null) {
+            tracked.untrack();
+        }
     }
 }
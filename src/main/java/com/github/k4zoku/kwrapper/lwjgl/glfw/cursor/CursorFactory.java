@@ -0,0 +1,143 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.cursor;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.common.image.PixelData;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Creates cursors from Java pixel data through a single pooled native staging buffer.
+ *
+ * <p>A factory holds one staging buffer from construction until it is {@link #close() closed}, so creating many cursors in a row, e.g. a whole cursor
+ * theme, does not allocate native memory per cursor. For one-off cursors use the static factory methods on {@link Cursor} instead.</p>
+ *
+ * <pre>{@code
+ * try (CursorFactory factory = new CursorFactory()) {
+ *     arrow = factory.fromFile(Paths.get("arrow.png"), 0, 0);
+ *     hand = factory.fromFile(Paths.get("hand.png"), 6, 0);
+ * }
+ * }</pre>
+ *
+ * <p>All methods must only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class CursorFactory implements AutoCloseable {
+
+    private CursorStaging staging;
+
+    /**
+     * Takes a staging buffer from the pool.
+     */
+    public CursorFactory() {
+        this.staging = CursorStaging.acquire();
+    }
+
+    /**
+     * Creates a cursor from packed, non-premultiplied ARGB pixels.
+     *
+     * @param argb   the pixels, row by row, starting from the top-left corner
+     * @param width  the width of the image
+     * @param height the height of the image
+     * @param xhot   the x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot   the y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     */
+    public Cursor fromPixels(int[] argb, int width, int height, int xhot, int yhot) {
+        checkSize(argb.length, width, height);
+        ByteBuffer pixels = staging().pixels(width, height);
+        PixelData.putRgba(pixels, argb, 0, width * height);
+        ((Buffer) pixels).flip();
+        return create(width, height, pixels, xhot, yhot);
+    }
+
+    /**
+     * Creates a cursor from GLFW RGBA pixels, read from the buffer's current position. Direct buffers are passed to GLFW as-is, heap buffers are copied into
+     * the staging buffer first. The buffer's position is not changed.
+     *
+     * @param rgba   32-bit, non-premultiplied RGBA pixels
+     * @param width  the width of the image
+     * @param height the height of the image
+     * @param xhot   the x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot   the y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     */
+    public Cursor fromBuffer(ByteBuffer rgba, int width, int height, int xhot, int yhot) {
+        checkSize(rgba.remaining() / 4, width, height);
+        ByteBuffer pixels;
+        if (rgba.isDirect()) {
+            pixels = rgba;
+        } else {
+            pixels = staging().pixels(width, height);
+            ByteBuffer source = rgba.duplicate();
+            ((Buffer) source).limit(source.position() + width * height * 4);
+            pixels.put(source);
+            ((Buffer) pixels).flip();
+        }
+        return create(width, height, pixels, xhot, yhot);
+    }
+
+    /**
+     * Creates a cursor from a decoded image.
+     *
+     * @param image the image
+     * @param xhot  the x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot  the y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     */
+    public Cursor fromImage(@NotNull BufferedImage image, int xhot, int yhot) {
+        return fromPixels(PixelData.toArgb(image), image.getWidth(), image.getHeight(), xhot, yhot);
+    }
+
+    /**
+     * Creates a cursor from an image file in any format supported by {@link javax.imageio.ImageIO ImageIO}.
+     *
+     * @param path the image file
+     * @param xhot the x-coordinate, in pixels, of the cursor hotspot
+     * @param yhot the y-coordinate, in pixels, of the cursor hotspot
+     *
+     * @return the cursor
+     *
+     * @throws IOException if the file cannot be read or decoded
+     */
+    public Cursor fromFile(Path path, int xhot, int yhot) throws IOException {
+        return fromImage(PixelData.decode(path), xhot, yhot);
+    }
+
+    /**
+     * Returns the staging buffer to the pool. The factory cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (staging != null) {
+            staging.release();
+            staging = null;
+        }
+    }
+
+    private Cursor create(int width, int height, ByteBuffer pixels, int xhot, int yhot) {
+        // The image is copied by GLFW before glfwCreateCursor returns, the staging buffer is free again right after.
+        return new Cursor(Cursor.create(staging().image(width, height, pixels), xhot, yhot));
+    }
+
+    private CursorStaging staging() {
+        if (staging == null) {
+            throw new IllegalStateException("Cursor factory is closed");
+        }
+        return staging;
+    }
+
+    private static void checkSize(int available, int width, int height) {
+        if (width <= 0 || height <= 0 || available < width * height) {
+            throw new IllegalArgumentException("Invalid cursor image size " + width + "x" + height);
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.cursor;
+
+import org.lwjgl.glfw.GLFWImage;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memRealloc;
+
+/**
+ * Native staging memory for cursor images: a pixel buffer and the {@link GLFWImage} struct pointing at it.
+ *
+ * <p>GLFW copies the image in {@link org.lwjgl.glfw.GLFW#glfwCreateCursor CreateCursor}, so the memory is only needed for the duration of that call.
+ * Staging buffers are pooled and only grow, so creating cursors does not allocate native memory once the pool is warm.</p>
+ *
+ * @author k4zoku
+ */
+final class CursorStaging {
+
+    private static final int INITIAL_CAPACITY = 32 * 32 * 4;
+    private static final int MAX_POOLED = 4;
+    private static final Queue<CursorStaging> POOL = new ConcurrentLinkedQueue<>();
+
+    private final GLFWImage image;
+    private ByteBuffer pixels;
+
+    private CursorStaging() {
+        this.image = GLFWImage.malloc();
+        this.pixels = memAlloc(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Takes a staging buffer from the pool, or allocates one if the pool is empty.
+     *
+     * @return the staging buffer, owned by the caller until {@link #release() released}
+     */
+    static CursorStaging acquire() {
+        CursorStaging staging = POOL.poll();
+        return staging == null ? new CursorStaging() : staging;
+    }
+
+    /**
+     * Returns this staging buffer to the pool, or frees it if the pool is full.
+     */
+    void release() {
+        if (POOL.size() < MAX_POOLED) {
+            POOL.offer(this);
+        } else {
+            image.free();
+            memFree(pixels);
+        }
+    }
+
+    /**
+     * Returns the pixel buffer, cleared and large enough for an image of the given size.
+     *
+     * @param width  the width of the image
+     * @param height the height of the image
+     *
+     * @return the pixel buffer, position zero and limit {@code width * height * 4}
+     */
+    ByteBuffer pixels(int width, int height) {
+        int bytes = width * height * 4;
+        if (pixels.capacity() < bytes) {
+            pixels = memRealloc(pixels, Integer.highestOneBit(bytes - 1) << 1);
+        }
+        ((Buffer) pixels).clear().limit(bytes);
+        return pixels;
+    }
+
+    /**
+     * Points the staged image struct at the given pixels.
+     *
+     * @param width  the width of the image
+     * @param height the height of the image
+     * @param rgba   the pixels, must be a direct buffer
+     *
+     * @return the image struct
+     */
+    GLFWImage image(int width, int height, ByteBuffer rgba) {
+        return image.set(width, height, rgba);
+    }
+
+}
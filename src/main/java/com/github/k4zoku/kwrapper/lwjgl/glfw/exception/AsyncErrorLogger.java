@@ -0,0 +1,334 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.exception;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.glfw.GLFWErrorCallbackI;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.lwjgl.glfw.GLFW.glfwSetErrorCallback;
+import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.system.MemoryUtil.memGetByte;
+
+/**
+ * GLFW error callback logging asynchronously, so an error storm does not do console I/O on the thread that made the failing call.
+ *
+ * <p>The callback copies the error code and the bytes of the description into a preallocated ring buffer and returns; a background thread drains the ring
+ * and prints the errors. Nothing is allocated on the reporting thread. Identical consecutive errors are printed once, followed by the number of repeats, and
+ * at most {@link #setRateLimit(int) a number of errors per second} are queued, the excess is counted and reported. Errors reported while the ring is full
+ * are dropped and counted as well.</p>
+ *
+ * <pre>{@code
+ * AsyncErrorLogger errors = new AsyncErrorLogger(System.err);
+ * errors.set();
+ * // ...
+ * glfwTerminate();
+ * errors.destroy();
+ * }</pre>
+ *
+ * <p>The logger can be combined with {@link GLFWErrors}, e.g. {@code glfwSetErrorCallback(GLFWErrors.recorder(errors))}.</p>
+ *
+ * @author k4zoku
+ */
+public class AsyncErrorLogger implements GLFWErrorCallbackI, Destroyable {
+
+    /**
+     * The default number of slots of the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The default maximum number of errors queued per second.
+     */
+    public static final int DEFAULT_RATE_LIMIT = 100;
+
+    private static final int MAX_DESCRIPTION = 512;
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final PrintStream out;
+    private final int mask;
+    private final int[] codes;
+    private final byte[][] descriptions;
+    private final int[] lengths;
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong windowStart;
+    private final AtomicLong windowCount = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+
+    private volatile int rateLimit = DEFAULT_RATE_LIMIT;
+    private volatile boolean destroyed;
+    private long tail;
+
+    @Nullable
+    private GLFWErrorCallback callback;
+
+    // Deduplication state, only touched by the logger thread
+    private int lastCode;
+    private byte[] lastDescription = new byte[MAX_DESCRIPTION];
+    private int lastLength = -1;
+    private long repeats;
+
+    /**
+     * Creates a logger with the default capacity and starts its thread.
+     *
+     * @param out the stream to print to
+     */
+    public AsyncErrorLogger(@NotNull PrintStream out) {
+        this(out, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a logger and starts its thread.
+     *
+     * @param out      the stream to print to
+     * @param capacity the number of slots of the ring, rounded up to a power of two
+     */
+    public AsyncErrorLogger(@NotNull PrintStream out, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(size, 1);
+        this.out = out;
+        this.mask = size - 1;
+        this.codes = new int[size];
+        this.descriptions = new byte[size][MAX_DESCRIPTION];
+        this.lengths = new int[size];
+        this.published = new AtomicLongArray(size);
+        // nanoTime has an arbitrary origin and may be negative, so the rate window must start from a reading.
+        this.windowStart = new AtomicLong(System.nanoTime());
+        // Each slot holds the sequence number it is ready for: n when free for the producer of n, n + 1 once published.
+        for (int i = 0; i < size; i++) {
+            published.set(i, i);
+        }
+        this.thread = new Thread(this::run, "kwrapper-glfw-error-logger");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Sets the maximum number of errors queued per second, the others are only counted.
+     *
+     * @param rateLimit the limit, {@code 100} by default
+     */
+    public void setRateLimit(int rateLimit) {
+        if (rateLimit <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit " + rateLimit);
+        }
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Installs this logger as the GLFW error callback.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @return the previous callback, which is not freed
+     */
+    @Nullable
+    public GLFWErrorCallback set() {
+        if (callback == null) {
+            callback = GLFWErrorCallback.create(this);
+        }
+        return glfwSetErrorCallback(callback);
+    }
+
+    @Override
+    public void invoke(int error, long description) {
+        if (destroyed) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!acquireRate(now)) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long sequence;
+        int slot;
+        do {
+            sequence = head.get();
+            slot = (int) (sequence & mask);
+            if (published.get(slot) < sequence) {
+                // The slot has not been consumed since the previous lap, the ring is full.
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        codes[slot] = error;
+        byte[] bytes = descriptions[slot];
+        int length = 0;
+        if (description != NULL) {
+            byte b;
+            while (length < bytes.length && (b = memGetByte(description + length)) != 0) {
+                bytes[length++] = b;
+            }
+            if (length == bytes.length && memGetByte(description + length) != 0) {
+                length = completeUtf8(bytes, length);
+            }
+        }
+        lengths[slot] = length;
+        published.set(slot, sequence + 1);
+    }
+
+    /**
+     * Returns the number of errors not queued because of the rate limit.
+     *
+     * @return the suppressed error count
+     */
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    /**
+     * Returns the number of errors not queued because the ring was full.
+     *
+     * @return the dropped error count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Stops the logger thread after printing the queued errors. If this logger was installed with {@link #set()} and is still the GLFW error callback, the
+     * callback is reset and freed.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     */
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (callback != null) {
+            GLFWErrorCallback current = glfwSetErrorCallback(null);
+            if (current != null && current.address() != callback.address()) {
+                glfwSetErrorCallback(current);
+            }
+            callback.free();
+            callback = null;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean acquireRate(long now) {
+        long start = windowStart.get();
+        if (now - start >= SECOND && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= rateLimit;
+    }
+
+    private void run() {
+        long lastReport = System.nanoTime();
+        long reportedSuppressed = 0;
+        long reportedDropped = 0;
+        while (true) {
+            boolean stopping = destroyed;
+            int drained = drain();
+            long now = System.nanoTime();
+            if (now - lastReport >= SECOND || stopping) {
+                flushRepeats();
+                long currentSuppressed = suppressed.get();
+                long currentDropped = dropped.get();
+                if (currentSuppressed != reportedSuppressed || currentDropped != reportedDropped) {
+                    out.printf("[GLFW] %d errors suppressed by the rate limit, %d dropped%n",
+                            currentSuppressed - reportedSuppressed, currentDropped - reportedDropped);
+                    reportedSuppressed = currentSuppressed;
+                    reportedDropped = currentDropped;
+                }
+                lastReport = now;
+            }
+            if (stopping) {
+                out.flush();
+                return;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK);
+            }
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        while (true) {
+            int slot = (int) (tail & mask);
+            if (published.get(slot) != tail + 1) {
+                return count;
+            }
+            int code = codes[slot];
+            byte[] description = descriptions[slot];
+            int length = lengths[slot];
+            if (code == lastCode && length == lastLength && rangeEquals(description, lastDescription, length)) {
+                repeats++;
+            } else {
+                flushRepeats();
+                out.printf("[GLFW] %s error: %s%n", GLFWErrors.getName(code), new String(description, 0, length, StandardCharsets.UTF_8));
+                lastCode = code;
+                lastLength = length;
+                System.arraycopy(description, 0, lastDescription, 0, length);
+            }
+            // Release the slot to the producer of the next lap
+            published.set(slot, tail + mask + 1);
+            tail++;
+            count++;
+        }
+    }
+
+    private void flushRepeats() {
+        if (repeats > 0) {
+            out.printf("[GLFW] last error repeated %d more times%n", repeats);
+            repeats = 0;
+        }
+    }
+
+    /**
+     * Returns the length of a truncated UTF-8 string without its last character if the truncation split it.
+     */
+    private static int completeUtf8(byte[] bytes, int length) {
+        int start = length - 1;
+        while (start > 0 && length - start < 4 && (bytes[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        int lead = bytes[start] & 0xFF;
+        int size = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return start + size <= length ? length : start;
+    }
+
+    private static boolean rangeEquals(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.exception;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWErrorCallbackI;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Allocation-free GLFW error checking.
+ *
+ * <p>{@link #check()} reads the last error of the calling thread with {@link org.lwjgl.glfw.GLFW#glfwGetError(org.lwjgl.PointerBuffer) glfwGetError}
+ * without decoding its description, stores the code in a per-thread primitive slot and counts it per code. The slot can then be read with
+ * {@link #getLastError()} as often as needed without another native call.</p>
+ *
+ * <p>In {@link #setThrowing(boolean) throwing mode}, {@link #check()} throws on error. The exceptions are preallocated once per error code without a stack
+ * trace, so throwing them on a hot path costs no allocation and no stack walk. They carry the name of the error only, the description is available from the
+ * error callback, which can record into the same slot through {@link #recorder(GLFWErrorCallbackI)}.</p>
+ *
+ * <pre>{@code
+ * glfwSetErrorCallback(GLFWErrors.recorder(GLFWErrorCallback.createPrint(System.err)));
+ * window.swapBuffers();
+ * if (GLFWErrors.check() != GLFW_NO_ERROR) {
+ *     recoverContext();
+ * }
+ * }</pre>
+ *
+ * @author k4zoku
+ */
+public final class GLFWErrors {
+
+    private static final int FIRST_CODE = GLFW_NOT_INITIALIZED;
+    private static final int CODES = 16;
+    private static final String[] NAMES = new String[CODES];
+    private static final GLFWRuntimeException[] EXCEPTIONS = new GLFWRuntimeException[CODES];
+    private static final GLFWRuntimeException UNKNOWN;
+    private static final AtomicLongArray COUNTS = new AtomicLongArray(CODES);
+    private static final ThreadLocal<int[]> LAST_ERROR = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static volatile boolean throwing;
+
+    static {
+        name(GLFW_NOT_INITIALIZED, "NOT_INITIALIZED");
+        name(GLFW_NO_CURRENT_CONTEXT, "NO_CURRENT_CONTEXT");
+        name(GLFW_INVALID_ENUM, "INVALID_ENUM");
+        name(GLFW_INVALID_VALUE, "INVALID_VALUE");
+        name(GLFW_OUT_OF_MEMORY, "OUT_OF_MEMORY");
+        name(GLFW_API_UNAVAILABLE, "API_UNAVAILABLE");
+        name(GLFW_VERSION_UNAVAILABLE, "VERSION_UNAVAILABLE");
+        name(GLFW_PLATFORM_ERROR, "PLATFORM_ERROR");
+        name(GLFW_FORMAT_UNAVAILABLE, "FORMAT_UNAVAILABLE");
+        name(GLFW_NO_WINDOW_CONTEXT, "NO_WINDOW_CONTEXT");
+        name(GLFW_CURSOR_UNAVAILABLE, "CURSOR_UNAVAILABLE");
+        name(GLFW_FEATURE_UNAVAILABLE, "FEATURE_UNAVAILABLE");
+        name(GLFW_FEATURE_UNIMPLEMENTED, "FEATURE_UNIMPLEMENTED");
+        name(GLFW_PLATFORM_UNAVAILABLE, "PLATFORM_UNAVAILABLE");
+        UNKNOWN = new GLFWRuntimeException("GLFW error UNKNOWN", null, false, false);
+    }
+
+    private GLFWErrors() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads and clears the last GLFW error of the calling thread, then records it. In throwing mode, throws the preallocated exception of the error.
+     *
+     * <p>This function may be called from any thread.</p>
+     *
+     * @return the error code, or {@link org.lwjgl.glfw.GLFW#GLFW_NO_ERROR NO_ERROR}
+     *
+     * @throws GLFWRuntimeException in throwing mode, if an error occurred
+     */
+    public static int check() {
+        int code = glfwGetError(null);
+        if (code != GLFW_NO_ERROR) {
+            record(code);
+            if (throwing) {
+                throw exception(code);
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Reads and clears the last GLFW error of the calling thread, then records it and throws the preallocated exception of the error, regardless of the
+     * throwing mode.
+     *
+     * @throws GLFWRuntimeException if an error occurred
+     */
+    public static void checkThrow() {
+        int code = glfwGetError(null);
+        if (code != GLFW_NO_ERROR) {
+            record(code);
+            throw exception(code);
+        }
+    }
+
+    /**
+     * Returns the last error recorded on the calling thread, without a native call.
+     *
+     * @return the error code, or {@link org.lwjgl.glfw.GLFW#GLFW_NO_ERROR NO_ERROR}
+     */
+    public static int getLastError() {
+        return LAST_ERROR.get()[0];
+    }
+
+    /**
+     * Clears the last error recorded on the calling thread.
+     */
+    public static void clearLastError() {
+        LAST_ERROR.get()[0] = GLFW_NO_ERROR;
+    }
+
+    /**
+     * Sets whether {@link #check()} throws on error.
+     *
+     * @param throwing whether to throw
+     */
+    public static void setThrowing(boolean throwing) {
+        GLFWErrors.throwing = throwing;
+    }
+
+    /**
+     * Returns whether {@link #check()} throws on error.
+     *
+     * @return whether it throws
+     */
+    public static boolean isThrowing() {
+        return throwing;
+    }
+
+    /**
+     * Returns the number of errors recorded with a code since the last reset.
+     *
+     * @param code the error code
+     *
+     * @return the error count
+     */
+    public static long getCount(int code) {
+        int index = code - FIRST_CODE;
+        return index >= 0 && index < CODES ? COUNTS.get(index) : 0L;
+    }
+
+    /**
+     * Returns the number of errors recorded since the last reset.
+     *
+     * @return the error count
+     */
+    public static long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < CODES; i++) {
+            total += COUNTS.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Resets the error counts.
+     */
+    public static void resetCounts() {
+        for (int i = 0; i < CODES; i++) {
+            COUNTS.set(i, 0L);
+        }
+    }
+
+    /**
+     * Returns the name of an error code, without the {@code GLFW_} prefix.
+     *
+     * @param code the error code
+     *
+     * @return the name, {@code NO_ERROR} or {@code UNKNOWN}
+     */
+    @NotNull
+    public static String getName(int code) {
+        if (code == GLFW_NO_ERROR) {
+            return "NO_ERROR";
+        }
+        int index = code - FIRST_CODE;
+        String name = index >= 0 && index < CODES ? NAMES[index] : null;
+        return name == null ? "UNKNOWN" : name;
+    }
+
+    /**
+     * Returns the preallocated stackless exception of an error code.
+     *
+     * @param code the error code
+     *
+     * @return the shared exception
+     */
+    @NotNull
+    public static GLFWRuntimeException exception(int code) {
+        int index = code - FIRST_CODE;
+        GLFWRuntimeException exception = index >= 0 && index < CODES ? EXCEPTIONS[index] : null;
+        return exception == null ? UNKNOWN : exception;
+    }
+
+    /**
+     * Returns an error callback recording the errors in the per-thread slot as they are reported, then forwarding them.
+     *
+     * <p>Errors reported to the callback are not cleared from GLFW, they are only counted by the next {@link #check()}, so they are not counted twice.</p>
+     *
+     * @param delegate the callback receiving the errors afterwards, or {@code null}
+     *
+     * @return the recording callback, to pass to {@link org.lwjgl.glfw.GLFW#glfwSetErrorCallback(GLFWErrorCallbackI) glfwSetErrorCallback}
+     */
+    public static GLFWErrorCallbackI recorder(@Nullable GLFWErrorCallbackI delegate) {
+        return (error, description) -> {
+            LAST_ERROR.get()[0] = error;
+            if (delegate != null) {
+                delegate.invoke(error, description);
+            }
+        };
+    }
+
+    private static void record(int code) {
+        LAST_ERROR.get()[0] = code;
+        int index = code - FIRST_CODE;
+        if (index >= 0 && index < CODES) {
+            COUNTS.incrementAndGet(index);
+        }
+    }
+
+    private static void name(int code, String name) {
+        int index = code - FIRST_CODE;
+        NAMES[index] = name;
+        EXCEPTIONS[index] = new GLFWRuntimeException("GLFW error " + name, null, false, false);
+    }
+
+}
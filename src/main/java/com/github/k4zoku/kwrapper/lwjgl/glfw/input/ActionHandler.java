@@ -0,0 +1,16 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.input;
+
+/**
+ * Receives the actions dispatched by an {@link ActionMap}.
+ */
+public interface ActionHandler {
+    /**
+     * Called when a bound key or mouse button event occurs.
+     *
+     * @param actionId the action bound to the event
+     * @param action   one of {@link org.lwjgl.glfw.GLFW#GLFW_PRESS PRESS}, {@link org.lwjgl.glfw.GLFW#GLFW_RELEASE RELEASE} or
+     *                 {@link org.lwjgl.glfw.GLFW#GLFW_REPEAT REPEAT}
+     * @param mods     the modifier bits of the event
+     */
+    void onAction(int actionId, int action, int mods);
+}
@@ -0,0 +1,331 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.input;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.callback.KeyCallback;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWMouseButtonCallbackI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Key and mouse button bindings compiled into flat lookup tables.
+ *
+ * <p>Each binding maps a key or mouse button, a modifier mask and an action type ({@link org.lwjgl.glfw.GLFW#GLFW_PRESS PRESS},
+ * {@link org.lwjgl.glfw.GLFW#GLFW_RELEASE RELEASE} or {@link org.lwjgl.glfw.GLFW#GLFW_REPEAT REPEAT}) to an action id. The bindings are compiled into
+ * tables indexed by key code, modifier bits and action type, so dispatching an event is an array lookup followed by an array-indexed handler call, without
+ * allocation or hashing.</p>
+ *
+ * <p>Modifiers are matched exactly on shift, control, alt and super; caps lock and num lock are ignored. Bindings with {@link #ANY_MODS} match any
+ * modifiers not covered by an exact binding. When several bindings match the same event, the last one added wins.</p>
+ *
+ * <pre>{@code
+ * ActionMap actions = ActionMap.builder()
+ *         .bindKey(GLFW_KEY_ESCAPE, 0, GLFW_RELEASE, QUIT)
+ *         .bindKey(GLFW_KEY_S, GLFW_MOD_CONTROL, GLFW_PRESS, SAVE)
+ *         .bindMouseButton(GLFW_MOUSE_BUTTON_LEFT, ActionMap.ANY_MODS, GLFW_PRESS, FIRE)
+ *         .build();
+ * actions.setHandler(QUIT, (id, action, mods) -> window.setShouldClose(true));
+ * window.setKeyCallback(actions.asKeyCallback());
+ * window.getCallbacks().setMouseButton(actions.asMouseButtonCallback());
+ * }</pre>
+ *
+ * <p>Rebinding at runtime recompiles the tables, and must be done from the thread dispatching the events.</p>
+ *
+ * @author k4zoku
+ */
+public class ActionMap {
+
+    /**
+     * Modifier mask matching any modifiers.
+     */
+    public static final int ANY_MODS = -1;
+
+    /**
+     * Value of table entries without binding.
+     */
+    public static final int UNBOUND = -1;
+
+    private static final int MOD_MASK = GLFW_MOD_SHIFT | GLFW_MOD_CONTROL | GLFW_MOD_ALT | GLFW_MOD_SUPER;
+    private static final int MOD_COMBINATIONS = MOD_MASK + 1;
+    private static final int ACTION_TYPES = 3;
+    private static final int KEY_COUNT = GLFW_KEY_LAST + 1;
+    private static final int BUTTON_COUNT = GLFW_MOUSE_BUTTON_LAST + 1;
+
+    private final List<Binding> bindings;
+    private final int[] keyTable = new int[KEY_COUNT * MOD_COMBINATIONS * ACTION_TYPES];
+    private final int[] buttonTable = new int[BUTTON_COUNT * MOD_COMBINATIONS * ACTION_TYPES];
+    private ActionHandler[] handlers = new ActionHandler[0];
+
+    private ActionMap(List<Binding> bindings) {
+        this.bindings = bindings;
+        compile();
+    }
+
+    /**
+     * Creates an empty builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sets the handler of an action.
+     *
+     * @param actionId the action id, zero or greater
+     * @param handler  the handler, or {@code null} to ignore the action
+     */
+    public void setHandler(int actionId, @Nullable ActionHandler handler) {
+        if (actionId < 0) {
+            throw new IllegalArgumentException("Invalid action id " + actionId);
+        }
+        if (actionId >= handlers.length) {
+            handlers = Arrays.copyOf(handlers, Math.max(actionId + 1, handlers.length * 2));
+        }
+        handlers[actionId] = handler;
+    }
+
+    /**
+     * Adds a key binding and recompiles the tables.
+     *
+     * @param key      the key, e.g. {@link org.lwjgl.glfw.GLFW#GLFW_KEY_SPACE KEY_SPACE}
+     * @param mods     the exact modifier bits, or {@link #ANY_MODS}
+     * @param action   the action type to bind
+     * @param actionId the action id
+     */
+    public void bindKey(int key, int mods, int action, int actionId) {
+        bindings.add(Binding.key(key, mods, action, actionId));
+        compile();
+    }
+
+    /**
+     * Adds a mouse button binding and recompiles the tables.
+     *
+     * @param button   the mouse button, e.g. {@link org.lwjgl.glfw.GLFW#GLFW_MOUSE_BUTTON_LEFT MOUSE_BUTTON_LEFT}
+     * @param mods     the exact modifier bits, or {@link #ANY_MODS}
+     * @param action   the action type to bind
+     * @param actionId the action id
+     */
+    public void bindMouseButton(int button, int mods, int action, int actionId) {
+        bindings.add(Binding.button(button, mods, action, actionId));
+        compile();
+    }
+
+    /**
+     * Removes every binding of an action and recompiles the tables.
+     *
+     * @param actionId the action id
+     */
+    public void unbind(int actionId) {
+        bindings.removeIf(binding -> binding.actionId == actionId);
+        compile();
+    }
+
+    /**
+     * Looks up the action bound to a key event.
+     *
+     * @param key    the key
+     * @param action the action type
+     * @param mods   the modifier bits
+     *
+     * @return the action id, or {@link #UNBOUND}
+     */
+    public int lookupKey(int key, int action, int mods) {
+        if (key < 0 || key >= KEY_COUNT || action < 0 || action >= ACTION_TYPES) {
+            return UNBOUND;
+        }
+        return keyTable[index(key, mods & MOD_MASK, action)];
+    }
+
+    /**
+     * Looks up the action bound to a mouse button event.
+     *
+     * @param button the mouse button
+     * @param action the action type
+     * @param mods   the modifier bits
+     *
+     * @return the action id, or {@link #UNBOUND}
+     */
+    public int lookupMouseButton(int button, int action, int mods) {
+        if (button < 0 || button >= BUTTON_COUNT || action < 0 || action >= ACTION_TYPES) {
+            return UNBOUND;
+        }
+        return buttonTable[index(button, mods & MOD_MASK, action)];
+    }
+
+    /**
+     * Dispatches a key event to the handler of its bound action.
+     *
+     * @param key    the key
+     * @param action the action type
+     * @param mods   the modifier bits
+     *
+     * @return whether the event was bound to an action
+     */
+    public boolean dispatchKey(int key, int action, int mods) {
+        return dispatch(lookupKey(key, action, mods), action, mods);
+    }
+
+    /**
+     * Dispatches a mouse button event to the handler of its bound action.
+     *
+     * @param button the mouse button
+     * @param action the action type
+     * @param mods   the modifier bits
+     *
+     * @return whether the event was bound to an action
+     */
+    public boolean dispatchMouseButton(int button, int action, int mods) {
+        return dispatch(lookupMouseButton(button, action, mods), action, mods);
+    }
+
+    /**
+     * Returns a key callback dispatching to this map, for {@link com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window#setKeyCallback(KeyCallback)}.
+     *
+     * @return the key callback
+     */
+    public KeyCallback asKeyCallback() {
+        return (key, scancode, action, mods) -> dispatchKey(key, action, mods);
+    }
+
+    /**
+     * Returns a mouse button callback dispatching to this map.
+     *
+     * @return the mouse button callback
+     */
+    public GLFWMouseButtonCallbackI asMouseButtonCallback() {
+        return (window, button, action, mods) -> dispatchMouseButton(button, action, mods);
+    }
+
+    private boolean dispatch(int actionId, int action, int mods) {
+        if (actionId == UNBOUND) {
+            return false;
+        }
+        if (actionId < handlers.length) {
+            ActionHandler handler = handlers[actionId];
+            if (handler != null) {
+                handler.onAction(actionId, action, mods);
+            }
+        }
+        return true;
+    }
+
+    private void compile() {
+        Arrays.fill(keyTable, UNBOUND);
+        Arrays.fill(buttonTable, UNBOUND);
+        // Wildcards first so exact bindings override them.
+        for (Binding binding : bindings) {
+            if (binding.mods == ANY_MODS) {
+                for (int mods = 0; mods < MOD_COMBINATIONS; mods++) {
+                    put(binding, mods);
+                }
+            }
+        }
+        for (Binding binding : bindings) {
+            if (binding.mods != ANY_MODS) {
+                put(binding, binding.mods & MOD_MASK);
+            }
+        }
+    }
+
+    private void put(Binding binding, int mods) {
+        int[] table = binding.mouse ? buttonTable : keyTable;
+        table[index(binding.code, mods, binding.action)] = binding.actionId;
+    }
+
+    private static int index(int code, int mods, int action) {
+        return (code * MOD_COMBINATIONS + mods) * ACTION_TYPES + action;
+    }
+
+    /**
+     * A single declarative binding.
+     */
+    private static final class Binding {
+        final boolean mouse;
+        final int code;
+        final int mods;
+        final int action;
+        final int actionId;
+
+        private Binding(boolean mouse, int code, int mods, int action, int actionId, int limit) {
+            if (code < 0 || code >= limit) {
+                throw new IllegalArgumentException("Invalid " + (mouse ? "mouse button " : "key ") + code);
+            }
+            if (action != GLFW_PRESS && action != GLFW_RELEASE && action != GLFW_REPEAT) {
+                throw new IllegalArgumentException("Invalid action type " + action);
+            }
+            if (actionId < 0) {
+                throw new IllegalArgumentException("Invalid action id " + actionId);
+            }
+            this.mouse = mouse;
+            this.code = code;
+            this.mods = mods;
+            this.action = action;
+            this.actionId = actionId;
+        }
+
+        static Binding key(int key, int mods, int action, int actionId) {
+            return new Binding(false, key, mods, action, actionId, KEY_COUNT);
+        }
+
+        static Binding button(int button, int mods, int action, int actionId) {
+            return new Binding(true, button, mods, action, actionId, BUTTON_COUNT);
+        }
+    }
+
+    /**
+     * Builder collecting the bindings to compile.
+     */
+    public static final class Builder {
+        private final List<Binding> bindings = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a key binding.
+         *
+         * @param key      the key
+         * @param mods     the exact modifier bits, or {@link #ANY_MODS}
+         * @param action   the action type to bind
+         * @param actionId the action id
+         *
+         * @return this builder
+         */
+        public Builder bindKey(int key, int mods, int action, int actionId) {
+            bindings.add(Binding.key(key, mods, action, actionId));
+            return this;
+        }
+
+        /**
+         * Adds a mouse button binding.
+         *
+         * @param button   the mouse button
+         * @param mods     the exact modifier bits, or {@link #ANY_MODS}
+         * @param action   the action type to bind
+         * @param actionId the action id
+         *
+         * @return this builder
+         */
+        public Builder bindMouseButton(int button, int mods, int action, int actionId) {
+            bindings.add(Binding.button(button, mods, action, actionId));
+            return this;
+        }
+
+        /**
+         * Compiles the bindings.
+         *
+         * @return the action map
+         */
+        @NotNull
+        public ActionMap build() {
+            return new ActionMap(new ArrayList<>(bindings));
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.input;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWWindowFocusCallbackI;
+
+import java.util.Arrays;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Cached table of the current keyboard layout.
+ *
+ * <p>{@link org.lwjgl.glfw.GLFW#glfwGetKeyName(int, int) glfwGetKeyName} and {@link org.lwjgl.glfw.GLFW#glfwGetKeyScancode(int) glfwGetKeyScancode} are
+ * native calls, and the former decodes a fresh {@link String} every time. The first lookup builds the key to scancode and scancode to key tables along with
+ * the printable names, and later lookups are served from arrays. Names of scancodes that have no key token are resolved once on demand.</p>
+ *
+ * <p>The layout may change while the application is in the background, so the table is rebuilt lazily after {@link #invalidate()}. {@link #watch(Window)}
+ * invalidates it whenever the window regains focus. Like the functions it caches, this class must only be used from the main thread, which is also where
+ * key callbacks are invoked, so a key callback can name its event with {@link #getKeyName(int, int) getKeyName(key, scancode)}.</p>
+ *
+ * @author k4zoku
+ */
+public final class KeyboardLayout {
+
+    private static final int KEY_COUNT = GLFW_KEY_LAST + 1;
+    private static final int MIN_SCANCODES = 512;
+
+    private static final int[] KEY_SCANCODES = new int[KEY_COUNT];
+    private static final String[] KEY_NAMES = new String[KEY_COUNT];
+    private static int[] scancodeKeys = new int[0];
+    private static String[] scancodeNames = new String[0];
+    private static boolean[] scancodeResolved = new boolean[0];
+    private static boolean valid;
+    private static int generation;
+
+    private KeyboardLayout() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the platform-specific scancode of a key, see {@link org.lwjgl.glfw.GLFW#glfwGetKeyScancode(int) glfwGetKeyScancode}.
+     *
+     * @param key the key
+     *
+     * @return the scancode, or {@code -1} if the key is not supported on the current platform
+     */
+    public static int getScancode(int key) {
+        if (key < 0 || key >= KEY_COUNT) {
+            return -1;
+        }
+        ensureValid();
+        return KEY_SCANCODES[key];
+    }
+
+    /**
+     * Returns the key mapped to a scancode.
+     *
+     * @param scancode the scancode
+     *
+     * @return the key, or {@link org.lwjgl.glfw.GLFW#GLFW_KEY_UNKNOWN KEY_UNKNOWN}
+     */
+    public static int getKey(int scancode) {
+        ensureValid();
+        if (scancode < 0 || scancode >= scancodeKeys.length) {
+            return GLFW_KEY_UNKNOWN;
+        }
+        return scancodeKeys[scancode];
+    }
+
+    /**
+     * Returns the layout-specific name of a printable key, see {@link org.lwjgl.glfw.GLFW#glfwGetKeyName(int, int) glfwGetKeyName}.
+     *
+     * @param key the key
+     *
+     * @return the name, or {@code null} if the key is not printable
+     */
+    @Nullable
+    public static String getKeyName(int key) {
+        if (key < 0 || key >= KEY_COUNT) {
+            return null;
+        }
+        ensureValid();
+        return KEY_NAMES[key];
+    }
+
+    /**
+     * Returns the layout-specific name of a scancode.
+     *
+     * @param scancode the scancode
+     *
+     * @return the name, or {@code null} if the scancode does not produce a printable character
+     */
+    @Nullable
+    public static String getScancodeName(int scancode) {
+        ensureValid();
+        if (scancode < 0) {
+            return null;
+        }
+        if (scancode >= scancodeNames.length) {
+            grow(scancode + 1);
+        }
+        if (!scancodeResolved[scancode]) {
+            scancodeNames[scancode] = glfwGetKeyName(GLFW_KEY_UNKNOWN, scancode);
+            scancodeResolved[scancode] = true;
+        }
+        return scancodeNames[scancode];
+    }
+
+    /**
+     * Returns the name of a key event, preferring the key token and falling back to the scancode as GLFW does.
+     *
+     * @param key      the key
+     * @param scancode the scancode
+     *
+     * @return the name, or {@code null} if the key is not printable
+     */
+    @Nullable
+    public static String getKeyName(int key, int scancode) {
+        return key == GLFW_KEY_UNKNOWN ? getScancodeName(scancode) : getKeyName(key);
+    }
+
+    /**
+     * Discards the cached table, it is rebuilt on the next lookup.
+     */
+    public static void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Returns the number of times the table has been built, e.g. to refresh labels derived from it.
+     *
+     * @return the generation of the table
+     */
+    public static int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Invalidates the table whenever the window regains focus, chaining to the managed focus callback target.
+     *
+     * @param window the window
+     */
+    public static void watch(@NotNull Window window) {
+        WindowCallbacks callbacks = window.getCallbacks();
+        GLFWWindowFocusCallbackI previous = callbacks.getFocus();
+        callbacks.setFocus((handle, focused) -> {
+            if (focused) {
+                invalidate();
+            }
+            if (previous != null) {
+                previous.invoke(handle, focused);
+            }
+        });
+    }
+
+    private static void ensureValid() {
+        if (valid) {
+            return;
+        }
+        int maxScancode = -1;
+        for (int key = 0; key < KEY_COUNT; key++) {
+            // Values below GLFW_KEY_SPACE are not key tokens, and GLFW reports them as invalid enums.
+            int scancode = key < GLFW_KEY_SPACE ? -1 : glfwGetKeyScancode(key);
+            KEY_SCANCODES[key] = scancode;
+            KEY_NAMES[key] = scancode == -1 ? null : glfwGetKeyName(key, scancode);
+            maxScancode = Math.max(maxScancode, scancode);
+        }
+        scancodeKeys = new int[0];
+        scancodeNames = new String[0];
+        scancodeResolved = new boolean[0];
+        grow(Math.max(MIN_SCANCODES, maxScancode + 1));
+        for (int key = 0; key < KEY_COUNT; key++) {
+            int scancode = KEY_SCANCODES[key];
+            if (scancode != -1) {
+                scancodeKeys[scancode] = key;
+                scancodeNames[scancode] = KEY_NAMES[key];
+                scancodeResolved[scancode] = true;
+            }
+        }
+        valid = true;
+        generation++;
+    }
+
+    private static void grow(int size) {
+        int from = scancodeKeys.length;
+        scancodeKeys = Arrays.copyOf(scancodeKeys, size);
+        Arrays.fill(scancodeKeys, from, size, GLFW_KEY_UNKNOWN);
+        scancodeNames = Arrays.copyOf(scancodeNames, size);
+        scancodeResolved = Arrays.copyOf(scancodeResolved, size);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.input;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWCursorPosCallbackI;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.DoubleBuffer;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Mouse-look mode for camera control.
+ *
+ * <p>While enabled, the cursor is disabled and, when supported, raw (unscaled and unaccelerated) mouse motion is used. Cursor position events only add to
+ * primitive accumulators, no user code runs per event however high the polling rate of the mouse. Once per frame, {@link #update()} turns the accumulated
+ * motion into a delta, shaped by the {@link SensitivityCurve sensitivity curve}, scaled by the sensitivity and optionally smoothed.</p>
+ *
+ * <pre>{@code
+ * MouseLook look = new MouseLook(window);
+ * look.enable();
+ * while (!window.shouldClose()) {
+ *     glfwPollEvents();
+ *     look.update();
+ *     camera.rotate(look.getDeltaX(), look.getDeltaY());
+ * }
+ * }</pre>
+ *
+ * <p>All methods must only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class MouseLook {
+
+    private final Window window;
+    private final GLFWCursorPosCallbackI accumulator = this::accumulate;
+
+    private double lastX;
+    private double lastY;
+    private double accumulatedX;
+    private double accumulatedY;
+    private double deltaX;
+    private double deltaY;
+
+    private double sensitivity = 1.0;
+    private double smoothing;
+    private SensitivityCurve curve = SensitivityCurve.LINEAR;
+
+    private boolean enabled;
+    private boolean rawMotion;
+    private int previousCursorMode;
+    @Nullable
+    private GLFWCursorPosCallbackI previousCallback;
+
+    /**
+     * Creates a disabled mouse-look mode for a window.
+     *
+     * @param window the window
+     */
+    public MouseLook(@NotNull Window window) {
+        this.window = window;
+    }
+
+    /**
+     * Disables the cursor, enables raw mouse motion when supported, and starts accumulating motion. The cursor position callback target is replaced until
+     * {@link #disable()}.
+     */
+    public void enable() {
+        if (enabled) {
+            return;
+        }
+        this.previousCursorMode = window.getInputMode(GLFW_CURSOR);
+        window.setInputMode(GLFW_CURSOR, GLFW_CURSOR_DISABLED);
+        this.rawMotion = glfwRawMouseMotionSupported();
+        if (rawMotion) {
+            window.setInputMode(GLFW_RAW_MOUSE_MOTION, GLFW_TRUE);
+        }
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            DoubleBuffer x = stack.mallocDouble(1);
+            DoubleBuffer y = stack.mallocDouble(1);
+            glfwGetCursorPos(window.getPointer(), x, y);
+            this.lastX = x.get(0);
+            this.lastY = y.get(0);
+        }
+        WindowCallbacks callbacks = window.getCallbacks();
+        this.previousCallback = callbacks.getCursorPosition();
+        callbacks.setCursorPosition(accumulator);
+        this.accumulatedX = 0;
+        this.accumulatedY = 0;
+        this.deltaX = 0;
+        this.deltaY = 0;
+        this.enabled = true;
+    }
+
+    /**
+     * Restores the previous cursor mode and cursor position callback target.
+     */
+    public void disable() {
+        if (!enabled) {
+            return;
+        }
+        if (rawMotion) {
+            window.setInputMode(GLFW_RAW_MOUSE_MOTION, GLFW_FALSE);
+        }
+        window.setInputMode(GLFW_CURSOR, previousCursorMode);
+        WindowCallbacks callbacks = window.getCallbacks();
+        if (callbacks.getCursorPosition() == accumulator) {
+            callbacks.setCursorPosition(previousCallback);
+        }
+        this.previousCallback = null;
+        this.deltaX = 0;
+        this.deltaY = 0;
+        this.enabled = false;
+    }
+
+    /**
+     * Returns whether mouse-look is enabled.
+     *
+     * @return whether mouse-look is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns whether raw mouse motion is in use. Only meaningful while enabled.
+     *
+     * @return whether raw mouse motion is supported and enabled
+     */
+    public boolean isRawMotion() {
+        return rawMotion;
+    }
+
+    /**
+     * Consumes the motion accumulated since the last call and computes this frame's delta. Call this once per frame, after polling events.
+     */
+    public void update() {
+        double x = accumulatedX;
+        double y = accumulatedY;
+        this.accumulatedX = 0;
+        this.accumulatedY = 0;
+        double magnitude = Math.sqrt(x * x + y * y);
+        if (magnitude > 0) {
+            double scale = curve.apply(magnitude) / magnitude * sensitivity;
+            x *= scale;
+            y *= scale;
+        }
+        double keep = smoothing;
+        this.deltaX = deltaX * keep + x * (1 - keep);
+        this.deltaY = deltaY * keep + y * (1 - keep);
+    }
+
+    /**
+     * Returns this frame's horizontal delta, positive to the right.
+     *
+     * @return the horizontal delta
+     */
+    public double getDeltaX() {
+        return deltaX;
+    }
+
+    /**
+     * Returns this frame's vertical delta, positive downwards.
+     *
+     * @return the vertical delta
+     */
+    public double getDeltaY() {
+        return deltaY;
+    }
+
+    /**
+     * Sets the factor applied to the motion after the curve. Defaults to 1.
+     *
+     * @param sensitivity the sensitivity
+     */
+    public void setSensitivity(double sensitivity) {
+        this.sensitivity = sensitivity;
+    }
+
+    /**
+     * Sets how much of the previous frame's delta is kept, from 0 (no smoothing, the default) to just below 1.
+     *
+     * @param smoothing the smoothing factor
+     */
+    public void setSmoothing(double smoothing) {
+        if (smoothing < 0 || smoothing >= 1) {
+            throw new IllegalArgumentException("Invalid smoothing " + smoothing);
+        }
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Sets the sensitivity curve. Defaults to {@link SensitivityCurve#LINEAR}.
+     *
+     * @param curve the curve
+     */
+    public void setCurve(@NotNull SensitivityCurve curve) {
+        this.curve = curve;
+    }
+
+    private void accumulate(long handle, double xpos, double ypos) {
+        accumulatedX += xpos - lastX;
+        accumulatedY += ypos - lastY;
+        lastX = xpos;
+        lastY = ypos;
+    }
+
+}
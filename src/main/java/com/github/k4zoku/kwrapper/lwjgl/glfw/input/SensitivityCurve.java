@@ -0,0 +1,32 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.input;
+
+/**
+ * Maps the magnitude of a per-frame mouse motion to the magnitude actually applied, before sensitivity scaling.
+ */
+public interface SensitivityCurve {
+
+    /**
+     * Applies the motion as-is.
+     */
+    SensitivityCurve LINEAR = magnitude -> magnitude;
+
+    /**
+     * Returns a curve raising the magnitude to a power, values above 1 accelerate fast motions and damp slow ones.
+     *
+     * @param exponent the exponent
+     *
+     * @return the curve
+     */
+    static SensitivityCurve power(double exponent) {
+        return magnitude -> Math.pow(magnitude, exponent);
+    }
+
+    /**
+     * Maps a motion magnitude.
+     *
+     * @param magnitude the length of the motion vector, in screen coordinates, always positive
+     *
+     * @return the length to apply
+     */
+    double apply(double magnitude);
+}
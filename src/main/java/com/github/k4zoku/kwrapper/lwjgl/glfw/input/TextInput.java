@@ -0,0 +1,283 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.input;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFWCharModsCallbackI;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+
+import java.util.Arrays;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Allocation-free text input collector of a {@link Window}.
+ *
+ * <p>Code points delivered by the character callback during event polling are appended to reusable buffers, along with the modifier keys held for each
+ * one. Editing keys (backspace, delete, enter, tab, arrows, home, end, and any key pressed with control or super) are recorded from the key callback with
+ * their position in the text, so widgets can replay typing and editing in order. The text of the frame is exposed as a {@link CharSequence} view over the
+ * buffer, nothing is copied unless {@link CharSequence#toString()} or {@link CharSequence#subSequence(int, int)} is called.</p>
+ *
+ * <pre>{@code
+ * TextInput input = new TextInput(window);
+ * while (!window.shouldClose()) {
+ *     glfwPollEvents();
+ *     field.insert(input.getText());
+ *     for (int i = 0; i < input.getEditCount(); i++) {
+ *         field.edit(input.getEditPosition(i), input.getEditKey(i), input.getEditMods(i));
+ *     }
+ *     input.clear();
+ * }
+ * }</pre>
+ *
+ * <p>The collector chains to the character with modifiers and key callback targets set before it was created. All methods must
+ * only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class TextInput {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final TextView view = new TextView();
+
+    private int[] codePoints = new int[INITIAL_CAPACITY];
+    private int[] codePointMods = new int[INITIAL_CAPACITY];
+    private int codePointCount;
+
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private int charCount;
+
+    private int[] editKeys = new int[INITIAL_CAPACITY];
+    private int[] editMods = new int[INITIAL_CAPACITY];
+    private int[] editPositions = new int[INITIAL_CAPACITY];
+    private int editCount;
+
+    private boolean enabled = true;
+
+    /**
+     * Creates a collector and installs it on the managed character with modifiers and key callbacks of the window.
+     *
+     * @param window the window
+     */
+    public TextInput(@NotNull Window window) {
+        WindowCallbacks callbacks = window.getCallbacks();
+        GLFWCharModsCallbackI previousCharMods = callbacks.getCharMods();
+        callbacks.setCharMods((handle, codepoint, mods) -> {
+            onChar(codepoint, mods);
+            if (previousCharMods != null) {
+                previousCharMods.invoke(handle, codepoint, mods);
+            }
+        });
+        GLFWKeyCallbackI previous = callbacks.getKey();
+        callbacks.setKey((handle, key, scancode, action, mods) -> {
+            onKey(key, action, mods);
+            if (previous != null) {
+                previous.invoke(handle, key, scancode, action, mods);
+            }
+        });
+    }
+
+    /**
+     * Sets whether input is collected, e.g. only while a text field has focus.
+     *
+     * @param enabled whether to collect input
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns whether input is collected.
+     *
+     * @return whether input is collected
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the text typed since the last {@link #clear()}, as a view over the internal buffer. The view is only valid until the next {@code clear()}.
+     *
+     * @return the text, as UTF-16
+     */
+    public CharSequence getText() {
+        return view;
+    }
+
+    /**
+     * Returns the number of code points typed since the last {@link #clear()}.
+     *
+     * @return the number of code points
+     */
+    public int getCodePointCount() {
+        return codePointCount;
+    }
+
+    /**
+     * Returns a typed code point.
+     *
+     * @param index the index of the code point
+     *
+     * @return the Unicode code point
+     */
+    public int getCodePoint(int index) {
+        checkIndex(index, codePointCount);
+        return codePoints[index];
+    }
+
+    /**
+     * Returns the modifier keys held when a code point was typed.
+     *
+     * @param index the index of the code point
+     *
+     * @return the modifier bits, e.g. {@link org.lwjgl.glfw.GLFW#GLFW_MOD_SHIFT MOD_SHIFT}
+     */
+    public int getMods(int index) {
+        checkIndex(index, codePointCount);
+        return codePointMods[index];
+    }
+
+    /**
+     * Returns the number of editing keys pressed or repeated since the last {@link #clear()}.
+     *
+     * @return the number of edits
+     */
+    public int getEditCount() {
+        return editCount;
+    }
+
+    /**
+     * Returns an editing key.
+     *
+     * @param index the index of the edit
+     *
+     * @return the key, e.g. {@link org.lwjgl.glfw.GLFW#GLFW_KEY_BACKSPACE KEY_BACKSPACE}
+     */
+    public int getEditKey(int index) {
+        checkIndex(index, editCount);
+        return editKeys[index];
+    }
+
+    /**
+     * Returns the modifier keys held for an editing key.
+     *
+     * @param index the index of the edit
+     *
+     * @return the modifier bits
+     */
+    public int getEditMods(int index) {
+        checkIndex(index, editCount);
+        return editMods[index];
+    }
+
+    /**
+     * Returns where an editing key was pressed in the typed text, i.e. the number of UTF-16 chars typed before it.
+     *
+     * @param index the index of the edit
+     *
+     * @return the position in {@link #getText()}
+     */
+    public int getEditPosition(int index) {
+        checkIndex(index, editCount);
+        return editPositions[index];
+    }
+
+    /**
+     * Empties the buffers for the next frame. Their capacity is kept.
+     */
+    public void clear() {
+        this.codePointCount = 0;
+        this.charCount = 0;
+        this.editCount = 0;
+    }
+
+    private void onChar(int codepoint, int mods) {
+        if (!enabled) {
+            return;
+        }
+        if (codePointCount == codePoints.length) {
+            codePoints = Arrays.copyOf(codePoints, codePointCount * 2);
+            codePointMods = Arrays.copyOf(codePointMods, codePointCount * 2);
+        }
+        codePoints[codePointCount] = codepoint;
+        codePointMods[codePointCount] = mods;
+        codePointCount++;
+        if (charCount + 2 > chars.length) {
+            chars = Arrays.copyOf(chars, chars.length * 2);
+        }
+        charCount += Character.toChars(codepoint, chars, charCount);
+    }
+
+    private void onKey(int key, int action, int mods) {
+        if (!enabled || action == GLFW_RELEASE || !isEditKey(key, mods)) {
+            return;
+        }
+        if (editCount == editKeys.length) {
+            editKeys = Arrays.copyOf(editKeys, editCount * 2);
+            editMods = Arrays.copyOf(editMods, editCount * 2);
+            editPositions = Arrays.copyOf(editPositions, editCount * 2);
+        }
+        editKeys[editCount] = key;
+        editMods[editCount] = mods;
+        editPositions[editCount] = charCount;
+        editCount++;
+    }
+
+    private static boolean isEditKey(int key, int mods) {
+        switch (key) {
+            case GLFW_KEY_BACKSPACE:
+            case GLFW_KEY_DELETE:
+            case GLFW_KEY_ENTER:
+            case GLFW_KEY_KP_ENTER:
+            case GLFW_KEY_TAB:
+            case GLFW_KEY_LEFT:
+            case GLFW_KEY_RIGHT:
+            case GLFW_KEY_UP:
+            case GLFW_KEY_DOWN:
+            case GLFW_KEY_HOME:
+            case GLFW_KEY_END:
+                return true;
+            default:
+                return key != GLFW_KEY_UNKNOWN && (mods & (GLFW_MOD_CONTROL | GLFW_MOD_SUPER)) != 0;
+        }
+    }
+
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", count: " + count);
+        }
+    }
+
+    /**
+     * View over the UTF-16 buffer.
+     */
+    private final class TextView implements CharSequence {
+        @Override
+        public int length() {
+            return charCount;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkIndex(index, charCount);
+            return chars[index];
+        }
+
+        @Override
+        @NotNull
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > charCount || start > end) {
+                throw new IndexOutOfBoundsException("Range: " + start + ".." + end + ", length: " + charCount);
+            }
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        @NotNull
+        public String toString() {
+            return new String(chars, 0, charCount);
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.monitor;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.exception.GLFWRuntimeException;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWGammaRamp;
+import org.lwjgl.glfw.GLFWVidMode;
+
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memAllocShort;
+import static org.lwjgl.system.MemoryUtil.memCopy;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+/**
+ * Gamma control for a single {@link Monitor} that keeps every ramp in reused native memory.
+ *
+ * <p>Ramps generated for a gamma exponent are cached, so switching between a few gamma values does not regenerate them. Animated transitions interpolate
+ * between a start and a target ramp into a single work ramp, so a fade does not allocate per step, and are applied at most once per refresh of the
+ * monitor.</p>
+ *
+ * <p>The original ramp of the monitor is snapshot on creation and can be put back with {@link #restore()}.</p>
+ *
+ * <p>All methods must only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class GammaController implements Destroyable {
+
+    private static final int MAX_CACHED_RAMPS = 16;
+
+    private final Monitor monitor;
+    private final int size;
+    private final long minimumInterval;
+    private final GLFWGammaRamp struct;
+    private final Ramp original;
+    private final Ramp start;
+    private final Ramp work;
+    private final int[] cacheKeys = new int[MAX_CACHED_RAMPS];
+    private final Ramp[] cacheRamps = new Ramp[MAX_CACHED_RAMPS];
+    private final long[] cacheUses = new long[MAX_CACHED_RAMPS];
+    private int cacheSize;
+    private long cacheClock;
+
+    private Ramp target;
+    private long transitionStart;
+    private long transitionDuration;
+    private boolean transitioning;
+    private long lastApplied;
+    private boolean destroyed;
+
+    /**
+     * Creates a gamma controller for the specified monitor and snapshots its current gamma ramp.
+     *
+     * <p><b>Wayland</b>: Gamma handling is a privileged protocol, creating a controller always fails.</p>
+     *
+     * @param monitor the monitor to control
+     *
+     * @throws GLFWRuntimeException if the gamma ramp of the monitor cannot be read
+     */
+    public GammaController(Monitor monitor) {
+        GLFWGammaRamp current = monitor.getGammaRamp();
+        if (current == null) {
+            throw new GLFWRuntimeException("Cannot read the gamma ramp of the monitor");
+        }
+        GLFWVidMode videoMode = monitor.getVideoMode();
+        int refreshRate = videoMode == null ? 0 : videoMode.refreshRate();
+        this.monitor = monitor;
+        this.size = current.size();
+        this.minimumInterval = refreshRate > 0 ? 1_000_000_000L / refreshRate : 0;
+        this.struct = GLFWGammaRamp.malloc();
+        this.original = new Ramp(size);
+        this.original.copyFrom(current);
+        this.start = new Ramp(size);
+        this.work = new Ramp(size);
+        this.work.copyFrom(original);
+        this.target = original;
+    }
+
+    /**
+     * Returns the number of entries per channel of the gamma ramp.
+     *
+     * @return the size of the gamma ramp
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Immediately sets the ramp generated from the specified exponent, cancelling any transition.
+     *
+     * @param gamma the desired exponent, a finite number greater than zero
+     *
+     * @see Monitor#setGamma(float)
+     */
+    public void setGamma(float gamma) {
+        Ramp ramp = ramp(gamma);
+        this.transitioning = false;
+        this.target = ramp;
+        work.copyFrom(ramp);
+        apply(work, System.nanoTime());
+    }
+
+    /**
+     * Starts a transition from the current ramp to the ramp generated from the specified exponent. The transition progresses with {@link #update()}.
+     *
+     * @param gamma    the target exponent, a finite number greater than zero
+     * @param duration the duration of the transition, in nanoseconds
+     */
+    public void fadeTo(float gamma, long duration) {
+        fadeTo(ramp(gamma), duration);
+    }
+
+    /**
+     * Starts a transition from the current ramp back to the original ramp of the monitor.
+     *
+     * @param duration the duration of the transition, in nanoseconds
+     */
+    public void fadeToOriginal(long duration) {
+        fadeTo(original, duration);
+    }
+
+    /**
+     * Immediately puts back the ramp the monitor had when this controller was created, cancelling any transition.
+     */
+    public void restore() {
+        this.transitioning = false;
+        this.target = original;
+        work.copyFrom(original);
+        apply(work, System.nanoTime());
+    }
+
+    /**
+     * Advances the current transition, see {@link #update(long)}.
+     *
+     * @return whether a transition is still in progress
+     */
+    public boolean update() {
+        return update(System.nanoTime());
+    }
+
+    /**
+     * Advances the current transition and applies the interpolated ramp, unless the last ramp was applied less than one refresh period ago. Call this once
+     * per frame, it does nothing when no transition is in progress.
+     *
+     * @param now the current time, from {@link System#nanoTime()}
+     *
+     * @return whether a transition is still in progress
+     */
+    public boolean update(long now) {
+        if (!transitioning) {
+            return false;
+        }
+        long elapsed = now - transitionStart;
+        if (elapsed >= transitionDuration) {
+            this.transitioning = false;
+            work.copyFrom(target);
+            apply(work, now);
+            return false;
+        }
+        if (now - lastApplied < minimumInterval) {
+            return true;
+        }
+        work.interpolate(start, target, (float) elapsed / transitionDuration);
+        apply(work, now);
+        return true;
+    }
+
+    /**
+     * Returns whether a transition is in progress.
+     *
+     * @return whether a transition is in progress
+     */
+    public boolean isTransitioning() {
+        return transitioning;
+    }
+
+    /**
+     * Returns whether this controller is destroyed.
+     *
+     * @return whether this controller is destroyed
+     */
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Frees the native memory of all ramps. The gamma ramp of the monitor is left as it is, call {@link #restore()} first to put back the original one.
+     */
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        for (int i = 0; i < cacheSize; i++) {
+            cacheRamps[i].free();
+            cacheRamps[i] = null;
+        }
+        this.cacheSize = 0;
+        original.free();
+        start.free();
+        work.free();
+        struct.free();
+        this.destroyed = true;
+    }
+
+    private void fadeTo(Ramp ramp, long duration) {
+        if (duration <= 0) {
+            this.target = ramp;
+            this.transitioning = false;
+            work.copyFrom(ramp);
+            apply(work, System.nanoTime());
+            return;
+        }
+        start.copyFrom(work);
+        this.target = ramp;
+        this.transitionStart = System.nanoTime();
+        this.transitionDuration = duration;
+        this.transitioning = true;
+    }
+
+    private Ramp ramp(float gamma) {
+        if (!(gamma > 0) || Float.isInfinite(gamma)) {
+            throw new IllegalArgumentException("Invalid gamma value " + gamma);
+        }
+        int key = Float.floatToIntBits(gamma);
+        for (int i = 0; i < cacheSize; i++) {
+            if (cacheKeys[i] == key) {
+                cacheUses[i] = ++cacheClock;
+                return cacheRamps[i];
+            }
+        }
+        Ramp ramp;
+        int slot;
+        if (cacheSize < MAX_CACHED_RAMPS) {
+            ramp = new Ramp(size);
+            slot = cacheSize++;
+        } else {
+            // Reuse the native memory of the least recently used ramp, never the current target
+            slot = -1;
+            for (int i = 0; i < cacheSize; i++) {
+                if (cacheRamps[i] != target && (slot == -1 || cacheUses[i] < cacheUses[slot])) {
+                    slot = i;
+                }
+            }
+            ramp = cacheRamps[slot];
+        }
+        ramp.generate(gamma);
+        cacheKeys[slot] = key;
+        cacheRamps[slot] = ramp;
+        cacheUses[slot] = ++cacheClock;
+        return ramp;
+    }
+
+    private void apply(Ramp ramp, long now) {
+        struct.set(ramp.red, ramp.green, ramp.blue, size);
+        // Through the monitor, so fades show up under its call site in the NativeCallProfiler
+        monitor.setGammaRamp(struct);
+        this.lastApplied = now;
+    }
+
+    /**
+     * The three channels of a gamma ramp in native memory.
+     */
+    private static final class Ramp {
+        final ShortBuffer red;
+        final ShortBuffer green;
+        final ShortBuffer blue;
+
+        Ramp(int size) {
+            this.red = memAllocShort(size);
+            this.green = memAllocShort(size);
+            this.blue = memAllocShort(size);
+        }
+
+        void copyFrom(GLFWGammaRamp ramp) {
+            copy(ramp.red(), red);
+            copy(ramp.green(), green);
+            copy(ramp.blue(), blue);
+        }
+
+        void copyFrom(Ramp ramp) {
+            copy(ramp.red, red);
+            copy(ramp.green, green);
+            copy(ramp.blue, blue);
+        }
+
+        private static void copy(ShortBuffer src, ShortBuffer dst) {
+            memCopy(memAddress(src), memAddress(dst), (long) dst.capacity() << 1);
+        }
+
+        /**
+         * Same ramp as {@link GLFW#glfwSetGamma SetGamma} generates.
+         */
+        void generate(float gamma) {
+            int size = red.capacity();
+            for (int i = 0; i < size; i++) {
+                double value = Math.pow(i / (double) (size - 1), 1.0 / gamma) * 65535.0 + 0.5;
+                short entry = (short) Math.min(value, 65535.0);
+                red.put(i, entry);
+                green.put(i, entry);
+                blue.put(i, entry);
+            }
+        }
+
+        void interpolate(Ramp from, Ramp to, float t) {
+            interpolate(red, from.red, to.red, t);
+            interpolate(green, from.green, to.green, t);
+            interpolate(blue, from.blue, to.blue, t);
+        }
+
+        private static void interpolate(ShortBuffer dst, ShortBuffer from, ShortBuffer to, float t) {
+            for (int i = 0, n = dst.capacity(); i < n; i++) {
+                int a = from.get(i) & 0xFFFF;
+                int b = to.get(i) & 0xFFFF;
+                dst.put(i, (short) (a + Math.round((b - a) * t)));
+            }
+        }
+
+        void free() {
+            memFree(red);
+            memFree(green);
+            memFree(blue);
+        }
+    }
+
+}
@@ -3,6 +3,9 @@ package com.github.k4zoku.kwrapper.lwjgl.glfw.monitor;
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Geometry;
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Position;
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.common.jfr.FlightRecorderHooks;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.CallSite;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.NativeCallProfiler;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.common.geometry.ContentScale;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.common.pointer.Pointer;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
@@ -10,6 +13,8 @@ import org.jetbrains.annotations.Nullable;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWGammaRamp;
+import org.lwjgl.glfw.GLFWMonitorCallback;
+import org.lwjgl.glfw.GLFWMonitorCallbackI;
 import org.lwjgl.glfw.GLFWVidMode;
 import org.lwjgl.system.MemoryStack;
 
@@ -21,6 +26,25 @@ import static org.lwjgl.system.MemoryUtil.NULL;
 
 public class Monitor extends Pointer {
 
+    /*
+     * Native call counters, see NativeCallProfiler.
+     */
+    private static final CallSite CALL_GET_MONITORS = NativeCallProfiler.timedSite("Monitor.getMonitors");
+    private static final CallSite CALL_GET_VIDEO_MODES = NativeCallProfiler.timedSite("Monitor.getVideoModes");
+    private static final CallSite CALL_GET_GAMMA_RAMP = NativeCallProfiler.timedSite("Monitor.getGammaRamp");
+    private static final CallSite CALL_SET_GAMMA = NativeCallProfiler.timedSite("Monitor.setGamma");
+    private static final CallSite CALL_SET_GAMMA_RAMP = NativeCallProfiler.timedSite("Monitor.setGammaRamp");
+    private static final CallSite CALL_GET_WINDOW_MONITOR = NativeCallProfiler.site("Monitor.getWindowMonitor");
+    private static final CallSite CALL_GET_PRIMARY_MONITOR = NativeCallProfiler.site("Monitor.getPrimaryMonitor");
+    private static final CallSite CALL_GET_CONTENT_SCALE = NativeCallProfiler.site("Monitor.getContentScale");
+    private static final CallSite CALL_GET_NAME = NativeCallProfiler.site("Monitor.getName");
+    private static final CallSite CALL_GET_PHYSICAL_SIZE = NativeCallProfiler.site("Monitor.getPhysicalSize");
+    private static final CallSite CALL_GET_POSITION = NativeCallProfiler.site("Monitor.getPosition");
+    private static final CallSite CALL_GET_WORK_AREA = NativeCallProfiler.site("Monitor.getWorkArea");
+    private static final CallSite CALL_GET_VIDEO_MODE = NativeCallProfiler.site("Monitor.getVideoMode");
+    private static final CallSite CALL_SET_MONITOR_CALLBACK = NativeCallProfiler.site("Monitor.setMonitorCallback");
+    private static final CallSite CALL_SET_USER_POINTER = NativeCallProfiler.site("Monitor.setUserPointer");
+
     /**
      * Private constructor that initializes the monitor pointer.
      *
@@ -42,6 +66,7 @@ public class Monitor extends Pointer {
      * @since version 3.0
      */
     public static Monitor getWindowMonitor(Window window) {
+        CALL_GET_WINDOW_MONITOR.count();
         return new Monitor(glfwGetWindowMonitor(window.getPointer()));
     }
 
@@ -58,6 +83,7 @@ public class Monitor extends Pointer {
      */
     @Nullable
     public static Monitor getPrimaryMonitor() {
+        CALL_GET_PRIMARY_MONITOR.count();
         long monitor = glfwGetPrimaryMonitor();
         return monitor == NULL ? null : new Monitor(monitor);
     }
@@ -76,7 +102,9 @@ public class Monitor extends Pointer {
      * @since version 3.0
      */
     public static Monitor[] getMonitors() {
+        long start = CALL_GET_MONITORS.begin();
         PointerBuffer glfwMonitors = glfwGetMonitors();
+        CALL_GET_MONITORS.end(start);
         int size = glfwMonitors == null ? 0 : glfwMonitors.limit();
         Monitor[] monitors = new Monitor[size];
         for (int i = 0; i < size; i++) {
@@ -85,6 +113,29 @@ public class Monitor extends Pointer {
         return monitors;
     }
 
+    /**
+     * Sets the monitor configuration callback, or removes the currently set callback. This is called when a monitor is connected to or disconnected from
+     * the system.
+     *
+     * <p>Monitor connections are also reported to Java Flight Recorder, see {@link FlightRecorderHooks}.</p>
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param callback the new callback, or {@code NULL} to remove the currently set callback
+     *
+     * @return the previously set callback, or {@code NULL} if no callback was set
+     *
+     * @since version 3.0
+     */
+    @Nullable
+    public static GLFWMonitorCallback setMonitorCallback(@Nullable GLFWMonitorCallbackI callback) {
+        CALL_SET_MONITOR_CALLBACK.count();
+        return glfwSetMonitorCallback(callback == null ? null : (monitor, event) -> {
+            FlightRecorderHooks.monitor(monitor, event);
+            callback.invoke(monitor, event);
+        });
+    }
+
     /**
      * Returns the current gamma ramp of the specified monitor.
      *
@@ -105,7 +156,12 @@ public class Monitor extends Pointer {
      */
     @Nullable
     public GLFWGammaRamp getGammaRamp() {
-        return glfwGetGammaRamp(getPointer());
+        long start = CALL_GET_GAMMA_RAMP.begin();
+        try {
+            return glfwGetGammaRamp(getPointer());
+        } finally {
+            CALL_GET_GAMMA_RAMP.end(start);
+        }
     }
 
     /**
@@ -126,6 +182,7 @@ public class Monitor extends Pointer {
      * @since version 3.3
      */
     public ContentScale getContentScale() {
+        CALL_GET_CONTENT_SCALE.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             FloatBuffer xscale = stack.mallocFloat(1);
             FloatBuffer yscale = stack.mallocFloat(1);
@@ -149,6 +206,7 @@ public class Monitor extends Pointer {
      */
     @Nullable
     public String getName() {
+        CALL_GET_NAME.count();
         return glfwGetMonitorName(getPointer());
     }
 
@@ -174,6 +232,7 @@ public class Monitor extends Pointer {
      * @since version 3.0
      */
     public Size<Integer> getPhysicalSize() {
+        CALL_GET_PHYSICAL_SIZE.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer width = stack.mallocInt(1);
             IntBuffer height = stack.mallocInt(1);
@@ -194,6 +253,7 @@ public class Monitor extends Pointer {
      * @since version 3.0
      */
     public Position<Integer> getPosition() {
+        CALL_GET_POSITION.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer x = stack.mallocInt(1);
             IntBuffer y = stack.mallocInt(1);
@@ -218,6 +278,7 @@ public class Monitor extends Pointer {
      * @since version 3.3
      */
     public Geometry<Integer> getWorkArea() {
+        CALL_GET_WORK_AREA.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer x = stack.mallocInt(1);
             IntBuffer y = stack.mallocInt(1);
@@ -243,6 +304,7 @@ public class Monitor extends Pointer {
      */
     @Nullable
     public GLFWVidMode getVideoMode() {
+        CALL_GET_VIDEO_MODE.count();
         return glfwGetVideoMode(getPointer());
     }
 
@@ -263,7 +325,12 @@ public class Monitor extends Pointer {
      */
     @Nullable
     public GLFWVidMode.Buffer getVideoModes() {
-        return glfwGetVideoModes(getPointer());
+        long start = CALL_GET_VIDEO_MODES.begin();
+        try {
+            return glfwGetVideoModes(getPointer());
+        } finally {
+            CALL_GET_VIDEO_MODES.end(start);
+        }
     }
 
     /**
@@ -289,7 +356,9 @@ public class Monitor extends Pointer {
      * @since version 3.0
      */
     public void setGamma(float gamma) {
+        long start = CALL_SET_GAMMA.begin();
         glfwSetGamma(getPointer(), gamma);
+        CALL_SET_GAMMA.end(start);
     }
 
     /**
@@ -318,7 +387,22 @@ public class Monitor extends Pointer {
      * @since version 3.0
      */
     public void setGammaRamp(GLFWGammaRamp ramp) {
+        long start = CALL_SET_GAMMA_RAMP.begin();
         glfwSetGammaRamp(getPointer(), ramp);
+        CALL_SET_GAMMA_RAMP.end(start);
+    }
+
+    /**
+     * Creates a {@link GammaController} for this monitor, snapshotting its current gamma ramp.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @return the gamma controller, to be {@link GammaController#destroy() destroyed} by the caller
+     *
+     * @throws com.github.k4zoku.kwrapper.lwjgl.glfw.exception.GLFWRuntimeException if the gamma ramp cannot be read, e.g. on Wayland
+     */
+    public GammaController createGammaController() {
+        return new GammaController(this);
     }
 
     /**
@@ -336,6 +420,7 @@ public class Monitor extends Pointer {
      * @since version 3.3
      */
     public void setUserPointer(long pointer) {
+        CALL_SET_USER_POINTER.count();
         glfwSetMonitorUserPointer(getPointer(), pointer);
     }
 
@@ -0,0 +1,55 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.startup;
+
+import java.util.function.Supplier;
+
+/**
+ * A value created on the main thread the first time it is needed, e.g. the monitor list or a cursor, instead of during startup.
+ *
+ * <p>The creation time is recorded as a phase of the {@link Startup} that created this value.</p>
+ *
+ * @param <T> the value type
+ *
+ * @author k4zoku
+ */
+public final class Deferred<T> implements Supplier<T> {
+
+    private final Startup startup;
+    private final String name;
+    private Supplier<T> factory;
+    private T value;
+
+    Deferred(Startup startup, String name, Supplier<T> factory) {
+        this.startup = startup;
+        this.name = name;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the value, creating it on first call.
+     *
+     * <p>This function must only be called from the main thread, the thread that {@link Startup#begin() began} the startup.</p>
+     *
+     * @return the value
+     *
+     * @throws IllegalStateException if called from another thread
+     */
+    @Override
+    public T get() {
+        if (factory != null) {
+            startup.checkMainThread(name);
+            value = startup.phase(name, factory);
+            factory = null;
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether the value was created.
+     *
+     * @return whether {@link #get()} was called
+     */
+    public boolean isInitialized() {
+        return factory == null;
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.startup;
+
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.system.Library;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Startup helper that overlaps native library loading with the application's own initialization, and reports where startup time goes.
+ *
+ * <p>{@link #begin()} starts a background thread that loads the LWJGL and GLFW shared libraries (and optionally the OpenGL one) and initializes the
+ * wrapper classes. It only loads libraries and classes, it never calls a GLFW function, so it is safe to start before {@code glfwInit}. The main thread
+ * waits for it with {@link #awaitPreload()} right before initializing GLFW.</p>
+ *
+ * <pre>{@code
+ * Startup startup = Startup.begin();
+ * Config config = startup.phase("config", Config::load);
+ * startup.awaitPreload();
+ * startup.phase("glfwInit", GLFW::glfwInit);
+ * Deferred<Monitor[]> monitors = startup.defer("monitors", Monitor::getMonitors);
+ * Window window = startup.phase("window", () -> new Window(800, 600, "App", hints));
+ * System.out.println(startup.report());
+ * }</pre>
+ *
+ * @author k4zoku
+ */
+public final class Startup {
+
+    private static final String[] WARM_CLASSES = {
+            "com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window",
+            "com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks",
+            "com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowHints",
+            "com.github.k4zoku.kwrapper.lwjgl.glfw.monitor.Monitor",
+            "com.github.k4zoku.kwrapper.lwjgl.glfw.cursor.Cursor",
+            "com.github.k4zoku.kwrapper.lwjgl.common.geometry.Geometry",
+            "org.lwjgl.glfw.GLFWVidMode",
+            "org.lwjgl.glfw.GLFWImage",
+            "org.lwjgl.glfw.GLFWKeyCallback",
+            "org.lwjgl.glfw.GLFWCursorPosCallback",
+            "org.lwjgl.glfw.GLFWFramebufferSizeCallback",
+            "org.lwjgl.glfw.Callbacks",
+            "org.lwjgl.system.MemoryStack",
+    };
+
+    private final Thread mainThread;
+    private final long origin;
+    private final List<Phase> phases = Collections.synchronizedList(new ArrayList<>());
+    private final FutureTask<Void> preload;
+
+    private Startup(boolean preloadOpenGL) {
+        this.mainThread = Thread.currentThread();
+        this.origin = System.nanoTime();
+        this.preload = new FutureTask<>(() -> {
+            phase("preload: lwjgl", Library::initialize);
+            phase("preload: glfw", GLFW::getLibrary);
+            if (preloadOpenGL) {
+                phase("preload: opengl", () -> warm("org.lwjgl.opengl.GL"));
+            }
+            phase("preload: classes", () -> {
+                for (String name : WARM_CLASSES) {
+                    warm(name);
+                }
+            });
+            return null;
+        });
+        Thread thread = new Thread(preload, "kwrapper-preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts preloading the LWJGL, GLFW and OpenGL libraries in the background. The calling thread is considered the main thread.
+     *
+     * @return the startup
+     */
+    public static Startup begin() {
+        return new Startup(true);
+    }
+
+    /**
+     * Starts preloading the LWJGL and GLFW libraries in the background. The calling thread is considered the main thread.
+     *
+     * @param preloadOpenGL whether to also load the OpenGL library, disable it for Vulkan or OpenGL ES applications
+     *
+     * @return the startup
+     */
+    public static Startup begin(boolean preloadOpenGL) {
+        return new Startup(preloadOpenGL);
+    }
+
+    /**
+     * Waits for the background preload to finish. The wait is recorded as a phase, so a long wait shows the main thread had nothing left to overlap.
+     *
+     * @throws IllegalStateException if preloading failed, with the failure as cause
+     */
+    public void awaitPreload() {
+        phase("await preload", () -> {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        preload.get();
+                        return;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to preload native libraries", e.getCause());
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs and times a startup phase.
+     *
+     * @param name   the phase name
+     * @param action the phase
+     */
+    public void phase(String name, @NotNull Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Runs and times a startup phase.
+     *
+     * @param name   the phase name
+     * @param action the phase
+     * @param <T>    the result type
+     *
+     * @return the result of the phase
+     */
+    public <T> T phase(String name, @NotNull Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Defers the creation of a value until its first use on the main thread. The creation is recorded as a phase when it happens.
+     *
+     * @param name    the phase name
+     * @param factory creates the value, called at most once
+     * @param <T>     the value type
+     *
+     * @return the deferred value
+     */
+    public <T> Deferred<T> defer(String name, @NotNull Supplier<T> factory) {
+        return new Deferred<>(this, name, factory);
+    }
+
+    /**
+     * Returns the recorded phases, in order of completion.
+     *
+     * @return a snapshot of the phases
+     */
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    /**
+     * Formats the recorded phases as a table: start offset, duration and thread of each phase.
+     *
+     * @return the report
+     */
+    public String report() {
+        StringBuilder builder = new StringBuilder("Startup phases (ms)\n");
+        for (Phase phase : getPhases()) {
+            builder.append(String.format("  %8.2f +%8.2f  %-16s %s%n",
+                    phase.getStart() / 1e6, phase.getDuration() / 1e6, phase.getThread(), phase.getName()));
+        }
+        return builder.toString();
+    }
+
+    void checkMainThread(String name) {
+        if (Thread.currentThread() != mainThread) {
+            throw new IllegalStateException(name + " must be created on the main thread");
+        }
+    }
+
+    private void record(String name, long start) {
+        long end = System.nanoTime();
+        phases.add(new Phase(name, Thread.currentThread().getName(), start - origin, end - start));
+    }
+
+    private static void warm(String name) {
+        try {
+            Class.forName(name, true, Startup.class.getClassLoader());
+        } catch (ClassNotFoundException ignored) {
+            // Optional module not on the class path.
+        }
+    }
+
+    /**
+     * A timed startup phase.
+     */
+    public static final class Phase {
+        private final String name;
+        private final String thread;
+        private final long start;
+        private final long duration;
+
+        Phase(String name, String thread, long start, long duration) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Returns when the phase started, in nanoseconds since {@link #begin()}.
+         *
+         * @return the start offset
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Returns how long the phase took, in nanoseconds.
+         *
+         * @return the duration
+         */
+        public long getDuration() {
+            return duration;
+        }
+    }
+
+}
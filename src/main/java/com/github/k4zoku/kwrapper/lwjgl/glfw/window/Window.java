@@ -4,13 +4,20 @@ import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Geometry;
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Position;
 import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.common.jfr.FlightRecorderHooks;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.CallSite;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.NativeCallProfiler;
+import com.github.k4zoku.kwrapper.lwjgl.common.resource.ResourceTracker;
+import com.github.k4zoku.kwrapper.lwjgl.common.resource.TrackedResource;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.common.geometry.ContentScale;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.common.pointer.Pointer;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.context.SwapIntervalController;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.cursor.Cursor;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.exception.GLFWRuntimeException;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.monitor.Monitor;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.window.callback.KeyCallback;
 import com.github.k4zoku.kwrapper.lwjgl.glfw.window.geometry.FrameSize;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon.WindowIcon;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
@@ -22,6 +29,9 @@ import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 import static org.lwjgl.glfw.Callbacks.glfwFreeCallbacks;
 import static org.lwjgl.glfw.GLFW.*;
@@ -34,11 +44,130 @@ import static org.lwjgl.system.MemoryUtil.NULL;
  */
 public class Window extends Pointer implements Destroyable {
 
+    /**
+     * Destroys the native window of a leaked {@link Window}, along with the callbacks it still holds.
+     */
+    private static final LongConsumer RELEASE = handle -> {
+        glfwFreeCallbacks(handle);
+        glfwDestroyWindow(handle);
+    };
+
+    /**
+     * The context current on each thread, as last set through this class.
+     */
+    private static final ThreadLocal<CurrentContext> CURRENT_CONTEXT = ThreadLocal.withInitial(CurrentContext::new);
+
+    /**
+     * Incremented by every {@link #destroy()}. A tracked context recorded before the last destroy may name a freed handle that GLFW reused for a new window,
+     * so it is not trusted to skip a native call.
+     */
+    private static final AtomicLong DESTROY_EPOCH = new AtomicLong();
+
+    /*
+     * Native call counters, see NativeCallProfiler.
+     */
+    private static final CallSite CALL_CREATE = NativeCallProfiler.timedSite("Window.create");
+    private static final CallSite CALL_MAKE_CONTEXT_CURRENT = NativeCallProfiler.site("Window.makeContextCurrent");
+    private static final CallSite CALL_POLL_EVENTS = NativeCallProfiler.timedSite("Window.pollEvents");
+    private static final CallSite CALL_WAIT_EVENTS = NativeCallProfiler.timedSite("Window.waitEvents");
+    private static final CallSite CALL_SET_ICON = NativeCallProfiler.timedSite("Window.setIcon");
+    private static final CallSite CALL_GET_CLIPBOARD_STRING = NativeCallProfiler.timedSite("Window.getClipboardString");
+    private static final CallSite CALL_SET_CLIPBOARD_STRING = NativeCallProfiler.timedSite("Window.setClipboardString");
+    private static final CallSite CALL_SET_MONITOR = NativeCallProfiler.timedSite("Window.setMonitor");
+    private static final CallSite CALL_SWAP_BUFFERS = NativeCallProfiler.timedSite("Window.swapBuffers");
+    private static final CallSite CALL_DESTROY = NativeCallProfiler.timedSite("Window.destroy");
+    private static final CallSite CALL_FOCUS = NativeCallProfiler.site("Window.focus");
+    private static final CallSite CALL_GET_CURSOR_POSITION = NativeCallProfiler.site("Window.getCursorPosition");
+    private static final CallSite CALL_GET_FRAME_BUFFER_SIZE = NativeCallProfiler.site("Window.getFrameBufferSize");
+    private static final CallSite CALL_GET_INPUT_MODE = NativeCallProfiler.site("Window.getInputMode");
+    private static final CallSite CALL_GET_KEY = NativeCallProfiler.site("Window.getKey");
+    private static final CallSite CALL_GET_MOUSE_BUTTON = NativeCallProfiler.site("Window.getMouseButton");
+    private static final CallSite CALL_GET_ATTRIBUTE = NativeCallProfiler.site("Window.getAttribute");
+    private static final CallSite CALL_GET_CONTENT_SCALE = NativeCallProfiler.site("Window.getContentScale");
+    private static final CallSite CALL_GET_FRAME_SIZE = NativeCallProfiler.site("Window.getFrameSize");
+    private static final CallSite CALL_GET_OPACITY = NativeCallProfiler.site("Window.getOpacity");
+    private static final CallSite CALL_GET_POSITION = NativeCallProfiler.site("Window.getPosition");
+    private static final CallSite CALL_GET_SIZE = NativeCallProfiler.site("Window.getSize");
+    private static final CallSite CALL_GET_USER_POINTER = NativeCallProfiler.site("Window.getUserPointer");
+    private static final CallSite CALL_HIDE = NativeCallProfiler.site("Window.hide");
+    private static final CallSite CALL_ICONIFY = NativeCallProfiler.site("Window.iconify");
+    private static final CallSite CALL_SYNC_CURRENT_CONTEXT = NativeCallProfiler.site("Window.syncCurrentContext");
+    private static final CallSite CALL_MAXIMIZE = NativeCallProfiler.site("Window.maximize");
+    private static final CallSite CALL_REQUEST_ATTENTION = NativeCallProfiler.site("Window.requestAttention");
+    private static final CallSite CALL_RESTORE = NativeCallProfiler.site("Window.restore");
+    private static final CallSite CALL_SET_CHAR_CALLBACK = NativeCallProfiler.site("Window.setCharCallback");
+    private static final CallSite CALL_SET_CHAR_MODS_CALLBACK = NativeCallProfiler.site("Window.setCharModsCallback");
+    private static final CallSite CALL_SET_CURSOR = NativeCallProfiler.site("Window.setCursor");
+    private static final CallSite CALL_SET_CURSOR_ENTER_CALLBACK = NativeCallProfiler.site("Window.setCursorEnterCallback");
+    private static final CallSite CALL_SET_CURSOR_POSITION = NativeCallProfiler.site("Window.setCursorPosition");
+    private static final CallSite CALL_SET_CURSOR_POSITION_CALLBACK = NativeCallProfiler.site("Window.setCursorPositionCallback");
+    private static final CallSite CALL_SET_DROP_CALLBACK = NativeCallProfiler.site("Window.setDropCallback");
+    private static final CallSite CALL_SET_FRAME_BUFFER_SIZE_CALLBACK = NativeCallProfiler.site("Window.setFrameBufferSizeCallback");
+    private static final CallSite CALL_SET_INPUT_MODE = NativeCallProfiler.site("Window.setInputMode");
+    private static final CallSite CALL_SET_KEY_CALLBACK = NativeCallProfiler.site("Window.setKeyCallback");
+    private static final CallSite CALL_SET_MOUSE_BUTTON_CALLBACK = NativeCallProfiler.site("Window.setMouseButtonCallback");
+    private static final CallSite CALL_SET_SCROLL_CALLBACK = NativeCallProfiler.site("Window.setScrollCallback");
+    private static final CallSite CALL_SET_ASPECT_RATIO = NativeCallProfiler.site("Window.setAspectRatio");
+    private static final CallSite CALL_SET_ATTRIBUTE = NativeCallProfiler.site("Window.setAttribute");
+    private static final CallSite CALL_SET_CLOSE_CALLBACK = NativeCallProfiler.site("Window.setCloseCallback");
+    private static final CallSite CALL_SET_CONTENT_SCALE_CALLBACK = NativeCallProfiler.site("Window.setContentScaleCallback");
+    private static final CallSite CALL_SET_FOCUS_CALLBACK = NativeCallProfiler.site("Window.setFocusCallback");
+    private static final CallSite CALL_SET_ICONIFY_CALLBACK = NativeCallProfiler.site("Window.setIconifyCallback");
+    private static final CallSite CALL_SET_MAXIMIZE_CALLBACK = NativeCallProfiler.site("Window.setMaximizeCallback");
+    private static final CallSite CALL_SET_OPACITY = NativeCallProfiler.site("Window.setOpacity");
+    private static final CallSite CALL_SET_POSITION = NativeCallProfiler.site("Window.setPosition");
+    private static final CallSite CALL_SET_POSITION_CALLBACK = NativeCallProfiler.site("Window.setPositionCallback");
+    private static final CallSite CALL_SET_REFRESH_CALLBACK = NativeCallProfiler.site("Window.setRefreshCallback");
+    private static final CallSite CALL_SET_SIZE = NativeCallProfiler.site("Window.setSize");
+    private static final CallSite CALL_SET_SIZE_CALLBACK = NativeCallProfiler.site("Window.setSizeCallback");
+    private static final CallSite CALL_SET_SIZE_LIMITS = NativeCallProfiler.site("Window.setSizeLimits");
+    private static final CallSite CALL_SET_TITLE = NativeCallProfiler.site("Window.setTitle");
+    private static final CallSite CALL_SET_USER_POINTER = NativeCallProfiler.site("Window.setUserPointer");
+    private static final CallSite CALL_SHOW = NativeCallProfiler.site("Window.show");
+    private static final CallSite CALL_SHOULD_CLOSE = NativeCallProfiler.site("Window.shouldClose");
+    private static final CallSite CALL_SET_SHOULD_CLOSE = NativeCallProfiler.site("Window.setShouldClose");
+    private static final CallSite CALL_FREE_CALLBACKS = NativeCallProfiler.site("Window.freeCallbacks");
+
+    /**
+     * The number of callback setters {@link org.lwjgl.glfw.Callbacks#glfwFreeCallbacks(long) glfwFreeCallbacks} calls, one native call each.
+     */
+    private static final int FREED_CALLBACK_TYPES = 17;
+
     /**
      * Determine if the window is destroyed.
      */
     private boolean destroyed;
 
+    /**
+     * The managed icon of the window, released when it is replaced or the window is destroyed.
+     */
+    @Nullable
+    private WindowIcon icon;
+
+    /**
+     * The leak tracking registration, {@code null} if tracking was disabled on creation.
+     */
+    @Nullable
+    private final TrackedResource tracked;
+
+    /**
+     * The managed callbacks, created on first use.
+     */
+    @Nullable
+    private WindowCallbacks callbacks;
+
+    /**
+     * The swap interval controller notified by {@link #swapBuffers()}, {@code null} if none is attached.
+     */
+    @Nullable
+    private SwapIntervalController swapIntervalController;
+
+    /**
+     * The flight recorder frame started by the last {@link #swapBuffers() swap}, {@code null} while not recorded.
+     */
+    @Nullable
+    private Object frameEvent;
+
     /**
      * Private constructor, accepts pointer to GLFW window.
      *
@@ -50,6 +179,10 @@ public class Window extends Pointer implements Destroyable {
         if (getPointer() == NULL) {
             throw new GLFWRuntimeException("Failed to create the GLFW window");
         }
+        this.tracked = ResourceTracker.track(this, "Window", pointer, RELEASE);
+        if (FlightRecorderHooks.isResizeRecorded()) {
+            getCallbacks().recordResizes();
+        }
     }
 
     /**
@@ -62,7 +195,7 @@ public class Window extends Pointer implements Destroyable {
      * @param share Pointer to the window to share OpenGL objects with. (NULL for no sharing)
      */
     public Window(int windowWidth, int windowHeight, CharSequence windowTitle, long monitor, long share) {
-        this(glfwCreateWindow(windowWidth, windowHeight, windowTitle, monitor, share));
+        this(create(windowWidth, windowHeight, windowTitle, monitor, share));
     }
 
     /**
@@ -98,7 +231,7 @@ public class Window extends Pointer implements Destroyable {
      * @param windowTitle Title of the window.
      */
     public Window(int windowWidth, int windowHeight, CharSequence windowTitle) {
-        this(glfwCreateWindow(windowWidth, windowHeight, windowTitle, NULL, NULL));
+        this(create(windowWidth, windowHeight, windowTitle, NULL, NULL));
     }
 
     /**
@@ -121,7 +254,7 @@ public class Window extends Pointer implements Destroyable {
      * @param share Pointer to the window to share OpenGL objects with. (NULL for no sharing)
      */
     public Window(int windowWidth, int windowHeight, ByteBuffer windowTitle, Monitor monitor, long share) {
-        this(glfwCreateWindow(windowWidth, windowHeight, windowTitle, monitor != null ? monitor.getPointer() : NULL, share));
+        this(create(windowWidth, windowHeight, windowTitle, monitor != null ? monitor.getPointer() : NULL, share));
     }
 
     /**
@@ -144,7 +277,7 @@ public class Window extends Pointer implements Destroyable {
      * @param windowTitle Title of the window.
      */
     public Window(int windowWidth, int windowHeight, ByteBuffer windowTitle) {
-        this(glfwCreateWindow(windowWidth, windowHeight, windowTitle, NULL, NULL));
+        this(create(windowWidth, windowHeight, windowTitle, NULL, NULL));
     }
 
     /**
@@ -157,6 +290,83 @@ public class Window extends Pointer implements Destroyable {
         this(windowSize.getWidth(), windowSize.getHeight(), windowTitle);
     }
 
+    /**
+     * Constructor that applies a {@link WindowHints} set before creating the window, instead of relying on the current global hints.
+     *
+     * @param windowWidth Width of the window.
+     * @param windowHeight Height of the window.
+     * @param windowTitle Title of the window.
+     * @param hints The window hints to create the window with.
+     */
+    public Window(int windowWidth, int windowHeight, CharSequence windowTitle, @NotNull WindowHints hints) {
+        this(create(hints, windowWidth, windowHeight, windowTitle, NULL, NULL));
+    }
+
+    /**
+     * Constructor that applies a {@link WindowHints} set, with more oop approach.
+     *
+     * @param windowSize {@link Size<Integer>} object that represents the size of the window.
+     * @param windowTitle Title of the window.
+     * @param hints The window hints to create the window with.
+     */
+    public Window(@NotNull Size<Integer> windowSize, CharSequence windowTitle, @NotNull WindowHints hints) {
+        this(windowSize.getWidth(), windowSize.getHeight(), windowTitle, hints);
+    }
+
+    /**
+     * Constructor that applies a {@link WindowHints} set, with a monitor and a window to share OpenGL objects with.
+     *
+     * @param windowWidth Width of the window.
+     * @param windowHeight Height of the window.
+     * @param windowTitle Title of the window.
+     * @param monitor {@link Monitor} object to use. (null for windowed mode)
+     * @param share {@link Window} to share OpenGL objects with. (null for no sharing)
+     * @param hints The window hints to create the window with.
+     */
+    public Window(int windowWidth, int windowHeight, CharSequence windowTitle, @Nullable Monitor monitor, @Nullable Window share, @NotNull WindowHints hints) {
+        this(create(hints, windowWidth, windowHeight, windowTitle, monitor == null ? NULL : monitor.getPointer(), share == null ? NULL : share.getPointer()));
+    }
+
+    /**
+     * Applies the hints, then creates the GLFW window.
+     */
+    private static long create(WindowHints hints, int width, int height, CharSequence title, long monitor, long share) {
+        hints.apply();
+        return create(width, height, title, monitor, share);
+    }
+
+    /**
+     * Creates the GLFW window with the current hints.
+     */
+    private static long create(int width, int height, CharSequence title, long monitor, long share) {
+        Object event = FlightRecorderHooks.beginWindowCreate();
+        long start = CALL_CREATE.begin();
+        long pointer = NULL;
+        try {
+            pointer = glfwCreateWindow(width, height, title, monitor, share);
+            return pointer;
+        } finally {
+            CALL_CREATE.end(start);
+            FlightRecorderHooks.endWindowCreate(event, pointer, width, height);
+        }
+    }
+
+    /**
+     * Creates the GLFW window with the current hints.
+     */
+    private static long create(int width, int height, ByteBuffer title, long monitor, long share) {
+        Object event = FlightRecorderHooks.beginWindowCreate();
+        long start = CALL_CREATE.begin();
+        long pointer = NULL;
+        try {
+            pointer = glfwCreateWindow(width, height, title, monitor, share);
+            return pointer;
+        } finally {
+            CALL_CREATE.end(start);
+            FlightRecorderHooks.endWindowCreate(event, pointer, width, height);
+        }
+    }
+
     /**
      * Sets the icon for the specified window.
      *
@@ -185,7 +395,44 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.2
      */
     public void setIcon(GLFWImage.Buffer images) {
+        long start = CALL_SET_ICON.begin();
         glfwSetWindowIcon(getPointer(), images);
+        CALL_SET_ICON.end(start);
+        releaseIcon(null);
+    }
+
+    /**
+     * Sets the icon for the specified window from a shared {@link WindowIcon}.
+     *
+     * <p>The icon is retained by this window until it is replaced or the window is destroyed, the last window to release it frees its native memory.</p>
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param icon the icon to use, or {@code null} to revert to the default icon
+     *
+     * @see #setIcon(GLFWImage.Buffer)
+     */
+    public void setIcon(@Nullable WindowIcon icon) {
+        if (icon != null) {
+            icon.retain();
+        }
+        long start = CALL_SET_ICON.begin();
+        glfwSetWindowIcon(getPointer(), icon == null ? null : icon.getImages());
+        CALL_SET_ICON.end(start);
+        releaseIcon(icon);
+    }
+
+    /**
+     * Releases the current managed icon, if any, and replaces it.
+     *
+     * @param replacement the new managed icon, already retained
+     */
+    private void releaseIcon(@Nullable WindowIcon replacement) {
+        WindowIcon previous = this.icon;
+        this.icon = replacement;
+        if (previous != null) {
+            previous.release();
+        }
     }
 
     /**
@@ -211,6 +458,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.2
      */
     public void focus() {
+        CALL_FOCUS.count();
         glfwFocusWindow(getPointer());
     }
 
@@ -236,7 +484,12 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public String getClipboardString() {
-        return glfwGetClipboardString(getPointer());
+        long start = CALL_GET_CLIPBOARD_STRING.begin();
+        try {
+            return glfwGetClipboardString(getPointer());
+        } finally {
+            CALL_GET_CLIPBOARD_STRING.end(start);
+        }
     }
 
     /**
@@ -255,7 +508,9 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public void setClipboardString(CharSequence string) {
+        long start = CALL_SET_CLIPBOARD_STRING.begin();
         glfwSetClipboardString(getPointer(), string);
+        CALL_SET_CLIPBOARD_STRING.end(start);
     }
 
     /**
@@ -277,6 +532,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public Position<Double> getCursorPosition() {
+        CALL_GET_CURSOR_POSITION.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             DoubleBuffer x = stack.mallocDouble(1);
             DoubleBuffer y = stack.mallocDouble(1);
@@ -323,6 +579,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public Size<Integer> getFrameBufferSize() {
+        CALL_GET_FRAME_BUFFER_SIZE.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer width = stack.mallocInt(1);
             IntBuffer height = stack.mallocInt(1);
@@ -343,6 +600,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public int getInputMode(int mode) {
+        CALL_GET_INPUT_MODE.count();
         return glfwGetInputMode(getPointer(), mode);
     }
 
@@ -374,6 +632,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public int getKey(int key) {
+        CALL_GET_KEY.count();
         return glfwGetKey(getPointer(), key);
     }
 
@@ -393,6 +652,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public int getMouseButton(int button) {
+        CALL_GET_MOUSE_BUTTON.count();
         return glfwGetMouseButton(getPointer(), button);
     }
 
@@ -413,6 +673,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public int getAttribute(int attribute) {
+        CALL_GET_ATTRIBUTE.count();
         return glfwGetWindowAttrib(getPointer(), attribute);
     }
 
@@ -432,6 +693,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.3
      */
     public ContentScale getContentScale() {
+        CALL_GET_CONTENT_SCALE.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             FloatBuffer xscale = stack.mallocFloat(1);
             FloatBuffer yscale = stack.mallocFloat(1);
@@ -457,6 +719,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.1
      */
     public FrameSize getFrameSize() {
+        CALL_GET_FRAME_SIZE.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer left = stack.mallocInt(1);
             IntBuffer top = stack.mallocInt(1);
@@ -499,6 +762,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.3
      */
     public float getOpacity() {
+        CALL_GET_OPACITY.count();
         return glfwGetWindowOpacity(getPointer());
     }
 
@@ -519,6 +783,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public Position<Integer> getPosition() {
+        CALL_GET_POSITION.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer x = stack.mallocInt(1);
             IntBuffer y = stack.mallocInt(1);
@@ -540,6 +805,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public Size<Integer> getSize() {
+        CALL_GET_SIZE.count();
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer width = stack.mallocInt(1);
             IntBuffer height = stack.mallocInt(1);
@@ -556,6 +822,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public long getUserPointer() {
+        CALL_GET_USER_POINTER.count();
         return glfwGetWindowUserPointer(getPointer());
     }
 
@@ -567,6 +834,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public void hide() {
+        CALL_HIDE.count();
         glfwHideWindow(getPointer());
     }
 
@@ -585,6 +853,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 2.1
      */
     public void iconify() {
+        CALL_ICONIFY.count();
         glfwIconifyWindow(getPointer());
     }
 
@@ -601,12 +870,180 @@ public class Window extends Pointer implements Destroyable {
      *
      * <p>The specified window must have an OpenGL or OpenGL ES context. Specifying a window without a context will generate a {@link GLFW#GLFW_NO_WINDOW_CONTEXT NO_WINDOW_CONTEXT} error.</p>
      *
+     * <p>The context current on each thread is tracked, so making an already current context current again is a field comparison instead of a native call.
+     * The tracked context of every thread is distrusted after any window is destroyed, so the next call after a destroy always reaches GLFW. The tracking
+     * only sees calls made through this class: after any direct context switch, e.g. {@link GLFW#glfwMakeContextCurrent(long) glfwMakeContextCurrent} or
+     * {@code GL.createCapabilities} from another library, {@link #syncCurrentContext()} must be called on that thread.</p>
+     *
      * <p>This function may be called from any thread.</p>
      *
      * @since version 3.0
      */
     public void makeContextCurrent() {
-        glfwMakeContextCurrent(getPointer());
+        makeContextCurrent(getPointer());
+    }
+
+    /**
+     * Returns whether the context of this window is current on the calling thread, from the tracked state without a native call.
+     *
+     * @return whether the context is current
+     */
+    public boolean isContextCurrent() {
+        return CURRENT_CONTEXT.get().is(getPointer());
+    }
+
+    /**
+     * Runs a task with the context of this window current, then makes the previously current context of the calling thread current again.
+     *
+     * <p>If the previous window was destroyed while the task ran, no context is made current instead. Only the GLFW context is restored, the LWJGL {@link org.lwjgl.opengl.GL#setCapabilities(org.lwjgl.opengl.GLCapabilities) capabilities} of the
+     * thread are left as the task set them.</p>
+     *
+     * @param task the task
+     */
+    public void withContext(@NotNull Runnable task) {
+        CurrentContext current = CURRENT_CONTEXT.get();
+        long previous = current.pointer;
+        Window previousWindow = current.window;
+        long epoch = DESTROY_EPOCH.get();
+        makeContextCurrent();
+        try {
+            task.run();
+        } finally {
+            restoreContext(previous, previousWindow, epoch);
+        }
+    }
+
+    /**
+     * Computes a value with the context of this window current, then makes the previously current context of the calling thread current again.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     *
+     * @return the result of the task
+     *
+     * @see #withContext(Runnable)
+     */
+    public <T> T withContext(@NotNull Supplier<T> task) {
+        CurrentContext current = CURRENT_CONTEXT.get();
+        long previous = current.pointer;
+        Window previousWindow = current.window;
+        long epoch = DESTROY_EPOCH.get();
+        makeContextCurrent();
+        try {
+            return task.get();
+        } finally {
+            restoreContext(previous, previousWindow, epoch);
+        }
+    }
+
+    /**
+     * Processes the events that are already in the event queue, then returns immediately, see {@link GLFW#glfwPollEvents() glfwPollEvents}.
+     *
+     * <p>Unlike calling {@link GLFW#glfwPollEvents() glfwPollEvents} directly, the call is visible to the {@link NativeCallProfiler} and Java Flight
+     * Recorder.</p>
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @since version 1.0
+     */
+    public static void pollEvents() {
+        Object event = FlightRecorderHooks.beginPoll();
+        long start = CALL_POLL_EVENTS.begin();
+        glfwPollEvents();
+        CALL_POLL_EVENTS.end(start);
+        FlightRecorderHooks.endPoll(event, "poll");
+    }
+
+    /**
+     * Waits until at least one event is available, then processes the events in the event queue, see {@link GLFW#glfwWaitEvents() glfwWaitEvents}.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @see #pollEvents()
+     * @since version 2.5
+     */
+    public static void waitEvents() {
+        Object event = FlightRecorderHooks.beginPoll();
+        long start = CALL_WAIT_EVENTS.begin();
+        glfwWaitEvents();
+        CALL_WAIT_EVENTS.end(start);
+        FlightRecorderHooks.endPoll(event, "wait");
+    }
+
+    /**
+     * Waits until at least one event is available or the timeout elapsed, then processes the events in the event queue, see
+     * {@link GLFW#glfwWaitEventsTimeout(double) glfwWaitEventsTimeout}.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param timeout the maximum amount of time, in seconds, to wait
+     *
+     * @see #pollEvents()
+     * @since version 3.2
+     */
+    public static void waitEvents(double timeout) {
+        Object event = FlightRecorderHooks.beginPoll();
+        long start = CALL_WAIT_EVENTS.begin();
+        glfwWaitEventsTimeout(timeout);
+        CALL_WAIT_EVENTS.end(start);
+        FlightRecorderHooks.endPoll(event, "waitTimeout");
+    }
+
+    /**
+     * Makes no context current on the calling thread, unless none already is.
+     *
+     * <p>This function may be called from any thread.</p>
+     */
+    public static void releaseCurrentContext() {
+        makeContextCurrent(NULL, null);
+    }
+
+    /**
+     * Reads the context current on the calling thread back from GLFW, after it was changed without going through this class.
+     *
+     * <p>This function may be called from any thread.</p>
+     */
+    public static void syncCurrentContext() {
+        CALL_SYNC_CURRENT_CONTEXT.count();
+        CURRENT_CONTEXT.get().set(glfwGetCurrentContext(), null);
+    }
+
+    private void makeContextCurrent(long pointer) {
+        makeContextCurrent(pointer, this);
+    }
+
+    private static void makeContextCurrent(long pointer, @Nullable Window window) {
+        CurrentContext current = CURRENT_CONTEXT.get();
+        if (!current.is(pointer)) {
+            CALL_MAKE_CONTEXT_CURRENT.count();
+            glfwMakeContextCurrent(pointer);
+            current.set(pointer, window);
+        }
+    }
+
+    private static void restoreContext(long pointer, @Nullable Window window, long epoch) {
+        boolean alive = window != null ? !window.isDestroyed() : pointer == NULL || DESTROY_EPOCH.get() == epoch;
+        makeContextCurrent(alive ? pointer : NULL, alive ? window : null);
+    }
+
+    /**
+     * The context current on a thread, along with the destroy epoch it was recorded in.
+     */
+    private static final class CurrentContext {
+        long pointer;
+        @Nullable
+        Window window;
+        long epoch;
+
+        boolean is(long pointer) {
+            return this.pointer == pointer && (pointer == NULL || epoch == DESTROY_EPOCH.get());
+        }
+
+        void set(long pointer, @Nullable Window window) {
+            this.pointer = pointer;
+            this.window = window;
+            this.epoch = DESTROY_EPOCH.get();
+        }
     }
 
     /**
@@ -619,6 +1056,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.2
      */
     public void maximize() {
+        CALL_MAXIMIZE.count();
         glfwMaximizeWindow(getPointer());
     }
 
@@ -640,6 +1078,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.3
      */
     public void requestAttention() {
+        CALL_REQUEST_ATTENTION.count();
         glfwRequestWindowAttention(getPointer());
     }
 
@@ -653,6 +1092,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 2.1
      */
     public void restore() {
+        CALL_RESTORE.count();
         glfwRestoreWindow(getPointer());
     }
 
@@ -676,7 +1116,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWCharCallback setCharCallback(GLFWCharCallbackI callback) {
-        return glfwSetCharCallback(getPointer(), callback);
+        CALL_SET_CHAR_CALLBACK.count();
+        return released(glfwSetCharCallback(getPointer(), callback));
     }
 
     /**
@@ -700,7 +1141,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWCharModsCallback setCharModsCallback(GLFWCharModsCallbackI callback) {
-        return glfwSetCharModsCallback(getPointer(), callback);
+        CALL_SET_CHAR_MODS_CALLBACK.count();
+        return released(glfwSetCharModsCallback(getPointer(), callback));
     }
 
     /**
@@ -716,7 +1158,10 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.1
      */
     public void setCursor(@Nullable Cursor cursor) {
-        glfwSetCursor(getPointer(), cursor == null ? NULL : cursor.getPointer());
+        CALL_SET_CURSOR.count();
+        long handle = cursor == null ? NULL : cursor.getPointer();
+        glfwSetCursor(getPointer(), handle);
+        FlightRecorderHooks.cursor(getPointer(), handle, 0);
     }
 
     /**
@@ -732,7 +1177,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWCursorEnterCallback setCursorEnterCallback(GLFWCursorEnterCallbackI callback) {
-        return glfwSetCursorEnterCallback(getPointer(), callback);
+        CALL_SET_CURSOR_ENTER_CALLBACK.count();
+        return released(glfwSetCursorEnterCallback(getPointer(), callback));
     }
 
     /**
@@ -758,6 +1204,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public void setCursorPosition(int xpos, int ypos) {
+        CALL_SET_CURSOR_POSITION.count();
         glfwSetCursorPos(getPointer(), xpos, ypos);
     }
 
@@ -775,7 +1222,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWCursorPosCallback setCursorPositionCallback(GLFWCursorPosCallbackI callback) {
-        return glfwSetCursorPosCallback(getPointer(), callback);
+        CALL_SET_CURSOR_POSITION_CALLBACK.count();
+        return released(glfwSetCursorPosCallback(getPointer(), callback));
     }
 
     /**
@@ -799,7 +1247,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWDropCallback setDropCallback(GLFWDropCallbackI callback) {
-        return glfwSetDropCallback(getPointer(), callback);
+        CALL_SET_DROP_CALLBACK.count();
+        return released(glfwSetDropCallback(getPointer(), callback));
     }
 
     /**
@@ -816,7 +1265,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWFramebufferSizeCallback setFrameBufferSizeCallback(GLFWFramebufferSizeCallbackI callback) {
-        return glfwSetFramebufferSizeCallback(getPointer(), callback);
+        CALL_SET_FRAME_BUFFER_SIZE_CALLBACK.count();
+        return released(glfwSetFramebufferSizeCallback(getPointer(), callback));
     }
 
     /**
@@ -855,7 +1305,11 @@ public class Window extends Pointer implements Destroyable {
      * @since GLFW 3.0
      */
     public void setInputMode(int mode, int value) {
+        CALL_SET_INPUT_MODE.count();
         glfwSetInputMode(getPointer(), mode, value);
+        if (mode == GLFW_CURSOR) {
+            FlightRecorderHooks.cursor(getPointer(), NULL, value);
+        }
     }
 
     /**
@@ -883,16 +1337,18 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWKeyCallback setKeyCallback(GLFWKeyCallbackI callback) {
-        return glfwSetKeyCallback(getPointer(), callback);
+        CALL_SET_KEY_CALLBACK.count();
+        return released(glfwSetKeyCallback(getPointer(), callback));
     }
 
     /**
-     * Wrapper for {@link #setKeyCallback(GLFWKeyCallbackI) SetKeyCallback}.
+     * Wrapper for {@link #setKeyCallback(GLFWKeyCallbackI) SetKeyCallback}, going through the {@link #getCallbacks() managed key callback} so replacing it
+     * does not allocate a new native closure.
      *
      * @param callback the new callback or {@code null} to remove the currently set callback
      */
     public void setKeyCallback(KeyCallback callback) {
-        setKeyCallback((window, key, scancode, action, mods) -> callback.invoke(key, scancode, action, mods));
+        getCallbacks().setKey(callback == null ? null : (window, key, scancode, action, mods) -> callback.invoke(key, scancode, action, mods));
     }
 
     /**
@@ -912,7 +1368,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWMouseButtonCallback setMouseButtonCallback(GLFWMouseButtonCallbackI callback) {
-        return glfwSetMouseButtonCallback(getPointer(), callback);
+        CALL_SET_MOUSE_BUTTON_CALLBACK.count();
+        return released(glfwSetMouseButtonCallback(getPointer(), callback));
     }
 
     /**
@@ -930,7 +1387,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWScrollCallback setScrollCallback(GLFWScrollCallbackI callback) {
-        return glfwSetScrollCallback(getPointer(), callback);
+        CALL_SET_SCROLL_CALLBACK.count();
+        return released(glfwSetScrollCallback(getPointer(), callback));
     }
 
     /**
@@ -957,6 +1415,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.2
      */
     public void setAspectRatio(int numer, int denom) {
+        CALL_SET_ASPECT_RATIO.count();
         glfwSetWindowAspectRatio(getPointer(), numer, denom);
     }
 
@@ -977,6 +1436,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.3
      */
     public void setAttribute(int attribute, int value) {
+        CALL_SET_ATTRIBUTE.count();
         glfwSetWindowAttrib(getPointer(), attribute, value);
     }
 
@@ -1004,7 +1464,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowCloseCallback setCloseCallback(GLFWWindowCloseCallbackI callback) {
-        return glfwSetWindowCloseCallback(getPointer(), callback);
+        CALL_SET_CLOSE_CALLBACK.count();
+        return released(glfwSetWindowCloseCallback(getPointer(), callback));
     }
 
     /**
@@ -1021,7 +1482,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowContentScaleCallback setContentScaleCallback(GLFWWindowContentScaleCallbackI callback) {
-        return glfwSetWindowContentScaleCallback(getPointer(), callback);
+        CALL_SET_CONTENT_SCALE_CALLBACK.count();
+        return released(glfwSetWindowContentScaleCallback(getPointer(), callback));
     }
 
     /**
@@ -1041,7 +1503,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowFocusCallback setFocusCallback(GLFWWindowFocusCallbackI callback) {
-        return glfwSetWindowFocusCallback(getPointer(), callback);
+        CALL_SET_FOCUS_CALLBACK.count();
+        return released(glfwSetWindowFocusCallback(getPointer(), callback));
     }
 
     /**
@@ -1058,7 +1521,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowIconifyCallback setIconifyCallback(GLFWWindowIconifyCallbackI callback) {
-        return glfwSetWindowIconifyCallback(getPointer(), callback);
+        CALL_SET_ICONIFY_CALLBACK.count();
+        return released(glfwSetWindowIconifyCallback(getPointer(), callback));
     }
 
     /**
@@ -1075,7 +1539,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowMaximizeCallback setMaximizeCallback(GLFWWindowMaximizeCallbackI callback) {
-        return glfwSetWindowMaximizeCallback(getPointer(), callback);
+        CALL_SET_MAXIMIZE_CALLBACK.count();
+        return released(glfwSetWindowMaximizeCallback(getPointer(), callback));
     }
 
     /**
@@ -1112,7 +1577,9 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.2
      */
     public void setMonitor(Monitor monitor, int xpos, int ypos, int width, int height, int refreshRate) {
-        glfwSetWindowMonitor(getPointer(), monitor.getPointer(), xpos, ypos, width, height, refreshRate);
+        long start = CALL_SET_MONITOR.begin();
+        glfwSetWindowMonitor(getPointer(), monitor == null ? NULL : monitor.getPointer(), xpos, ypos, width, height, refreshRate);
+        CALL_SET_MONITOR.end(start);
     }
 
     /**
@@ -1161,6 +1628,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.3
      */
     public void setOpacity(float opacity) {
+        CALL_SET_OPACITY.count();
         glfwSetWindowOpacity(getPointer(), opacity);
     }
 
@@ -1186,6 +1654,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public void setPosition(int xpos, int ypos) {
+        CALL_SET_POSITION.count();
         glfwSetWindowPos(getPointer(), xpos, ypos);
     }
 
@@ -1218,7 +1687,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowPosCallback setPositionCallback(GLFWWindowPosCallbackI callback) {
-        return glfwSetWindowPosCallback(getPointer(), callback);
+        CALL_SET_POSITION_CALLBACK.count();
+        return released(glfwSetWindowPosCallback(getPointer(), callback));
     }
 
     /**
@@ -1239,7 +1709,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowRefreshCallback setRefreshCallback(GLFWWindowRefreshCallbackI callback) {
-        return glfwSetWindowRefreshCallback(getPointer(), callback);
+        CALL_SET_REFRESH_CALLBACK.count();
+        return released(glfwSetWindowRefreshCallback(getPointer(), callback));
     }
 
     /**
@@ -1265,6 +1736,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public void setSize(int width, int height) {
+        CALL_SET_SIZE.count();
         glfwSetWindowSize(getPointer(), width, height);
     }
 
@@ -1292,7 +1764,8 @@ public class Window extends Pointer implements Destroyable {
      */
     @Nullable
     public GLFWWindowSizeCallback setSizeCallback(GLFWWindowSizeCallbackI callback) {
-        return glfwSetWindowSizeCallback(getPointer(), callback);
+        CALL_SET_SIZE_CALLBACK.count();
+        return released(glfwSetWindowSizeCallback(getPointer(), callback));
     }
 
     /**
@@ -1318,6 +1791,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.2
      */
     public void setSizeLimits(int minWidth, int minHeight, int maxWidth, int maxHeight) {
+        CALL_SET_SIZE_LIMITS.count();
         glfwSetWindowSizeLimits(getPointer(), minWidth, minHeight, maxWidth, maxHeight);
     }
 
@@ -1343,6 +1817,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public void setTitle(CharSequence title) {
+        CALL_SET_TITLE.count();
         glfwSetWindowTitle(getPointer(), title);
     }
 
@@ -1358,6 +1833,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public void setTitle(ByteBuffer title) {
+        CALL_SET_TITLE.count();
         glfwSetWindowTitle(getPointer(), title);
     }
 
@@ -1371,6 +1847,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public void setUserPointer(long pointer) {
+        CALL_SET_USER_POINTER.count();
         glfwSetWindowUserPointer(getPointer(), pointer);
     }
 
@@ -1385,6 +1862,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public void show() {
+        CALL_SHOW.count();
         glfwShowWindow(getPointer());
     }
 
@@ -1403,7 +1881,27 @@ public class Window extends Pointer implements Destroyable {
      * @since version 1.0
      */
     public void swapBuffers() {
+        SwapIntervalController controller = this.swapIntervalController;
+        long submitted = controller != null ? System.nanoTime() : 0;
+        Object event = FlightRecorderHooks.beginSwap();
+        long start = CALL_SWAP_BUFFERS.begin();
         glfwSwapBuffers(getPointer());
+        CALL_SWAP_BUFFERS.end(start);
+        FlightRecorderHooks.endSwap(event, getPointer());
+        FlightRecorderHooks.endFrame(frameEvent, getPointer());
+        frameEvent = FlightRecorderHooks.beginFrame();
+        if (controller != null) {
+            controller.onSwap(submitted, System.nanoTime());
+        }
+    }
+
+    /**
+     * Sets the controller adjusting the swap interval after every {@link #swapBuffers() swap}, see {@link SwapIntervalController}.
+     *
+     * @param controller the controller, or {@code null} to detach it
+     */
+    public void setSwapIntervalController(@Nullable SwapIntervalController controller) {
+        this.swapIntervalController = controller;
     }
 
     /**
@@ -1416,6 +1914,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public boolean shouldClose() {
+        CALL_SHOULD_CLOSE.count();
         return glfwWindowShouldClose(getPointer());
     }
 
@@ -1430,6 +1929,7 @@ public class Window extends Pointer implements Destroyable {
      * @since version 3.0
      */
     public void setShouldClose(boolean shouldClose) {
+        CALL_SET_SHOULD_CLOSE.count();
         glfwSetWindowShouldClose(getPointer(), shouldClose);
     }
 
@@ -1482,8 +1982,22 @@ public class Window extends Pointer implements Destroyable {
         if (isDestroyed()) {
             return;
         }
+        CurrentContext current = CURRENT_CONTEXT.get();
+        if (current.pointer == getPointer()) {
+            // GLFW detaches the context of a destroyed window from the calling thread
+            current.set(NULL, null);
+        }
+        DESTROY_EPOCH.incrementAndGet();
+        Object event = FlightRecorderHooks.beginWindowDestroy();
+        long start = CALL_DESTROY.begin();
         glfwDestroyWindow(getPointer());
+        CALL_DESTROY.end(start);
+        FlightRecorderHooks.endWindowDestroy(event, getPointer());
         this.destroyed = true;
+        releaseIcon(null);
+        if (tracked != null) {
+            tracked.untrack();
+        }
     }
 
     /**
@@ -1497,7 +2011,35 @@ public class Window extends Pointer implements Destroyable {
      *
      */
     public void freeCallbacks() {
+        CALL_FREE_CALLBACKS.count(FREED_CALLBACK_TYPES);
         glfwFreeCallbacks(getPointer());
+        if (callbacks != null) {
+            callbacks.forget();
+        }
+    }
+
+    /**
+     * Returns the managed callbacks of this window, which reuse one native closure per event type and free the closures they replace.
+     *
+     * @return the managed callbacks
+     */
+    public WindowCallbacks getCallbacks() {
+        if (callbacks == null) {
+            callbacks = new WindowCallbacks(getPointer());
+        }
+        return callbacks;
+    }
+
+    /**
+     * Frees the previous callback returned by a raw setter if it is a managed closure, so it is neither leaked nor handed out to be freed twice.
+     *
+     * @param previous the previous callback
+     *
+     * @return the previous callback, or {@code null} if it was managed
+     */
+    @Nullable
+    private <C extends Callback> C released(@Nullable C previous) {
+        return callbacks == null ? previous : callbacks.released(previous);
     }
 
 }
@@ -0,0 +1,810 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.jfr.FlightRecorderHooks;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.CallSite;
+import com.github.k4zoku.kwrapper.lwjgl.common.profile.NativeCallProfiler;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.*;
+import org.lwjgl.system.Callback;
+
+import java.util.function.Function;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Managed callbacks of a {@link Window}.
+ *
+ * <p>For each event type, a single native closure is created the first time a callback is set, installed once, and delegates to a Java target that can be
+ * swapped at any time. Swapping a callback is a field write instead of a native closure allocation. Only closures created by this class are freed by it:
+ * the managed closure is freed when it is replaced by a raw callback, while a callback set with the raw {@code Window.set*Callback} methods still belongs
+ * to the application, and is returned by the managed setter that displaced it so the application can free it.</p>
+ *
+ * <p>The closures are freed by {@link Window#freeCallbacks()}, which also clears every target.</p>
+ *
+ * <p>All methods must only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class WindowCallbacks {
+
+    private static final CallSite CALL_INSTALL = NativeCallProfiler.site("WindowCallbacks.install");
+
+    private final long window;
+    private final Slot<GLFWCharCallback> charCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWCharCallbackI charCallback;
+    private final Slot<GLFWCharModsCallback> charModsCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWCharModsCallbackI charModsCallback;
+    private final Slot<GLFWCursorEnterCallback> cursorEnterCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWCursorEnterCallbackI cursorEnterCallback;
+    private final Slot<GLFWCursorPosCallback> cursorPositionCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWCursorPosCallbackI cursorPositionCallback;
+    private final Slot<GLFWDropCallback> dropCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWDropCallbackI dropCallback;
+    private final Slot<GLFWFramebufferSizeCallback> frameBufferSizeCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWFramebufferSizeCallbackI frameBufferSizeCallback;
+    private final Slot<GLFWKeyCallback> keyCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWKeyCallbackI keyCallback;
+    private final Slot<GLFWMouseButtonCallback> mouseButtonCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWMouseButtonCallbackI mouseButtonCallback;
+    private final Slot<GLFWScrollCallback> scrollCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWScrollCallbackI scrollCallback;
+    private final Slot<GLFWWindowCloseCallback> closeCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowCloseCallbackI closeCallback;
+    private final Slot<GLFWWindowContentScaleCallback> contentScaleCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowContentScaleCallbackI contentScaleCallback;
+    private final Slot<GLFWWindowFocusCallback> focusCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowFocusCallbackI focusCallback;
+    private final Slot<GLFWWindowIconifyCallback> iconifyCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowIconifyCallbackI iconifyCallback;
+    private final Slot<GLFWWindowMaximizeCallback> maximizeCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowMaximizeCallbackI maximizeCallback;
+    private final Slot<GLFWWindowPosCallback> positionCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowPosCallbackI positionCallback;
+    private final Slot<GLFWWindowRefreshCallback> refreshCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowRefreshCallbackI refreshCallback;
+    private final Slot<GLFWWindowSizeCallback> sizeCallbackSlot = new Slot<>();
+    @Nullable
+    private GLFWWindowSizeCallbackI sizeCallback;
+
+    WindowCallbacks(long window) {
+        this.window = window;
+    }
+
+    /**
+     * Sets the character callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setCharCallback(GLFWCharCallbackI)
+     */
+    @Nullable
+    public GLFWCharCallback setChar(@Nullable GLFWCharCallbackI callback) {
+        this.charCallback = callback;
+        if (callback != null && charCallbackSlot.closure == null) {
+            return charCallbackSlot.install(GLFWCharCallback.create((long w, int codepoint) -> {
+                GLFWCharCallbackI target = this.charCallback;
+                if (target != null) {
+                    target.invoke(w, codepoint);
+                }
+            }), closure -> glfwSetCharCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the character callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWCharCallbackI getChar() {
+        return charCallback;
+    }
+
+    /**
+     * Sets the character with modifiers callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setCharModsCallback(GLFWCharModsCallbackI)
+     */
+    @Nullable
+    public GLFWCharModsCallback setCharMods(@Nullable GLFWCharModsCallbackI callback) {
+        this.charModsCallback = callback;
+        if (callback != null && charModsCallbackSlot.closure == null) {
+            return charModsCallbackSlot.install(GLFWCharModsCallback.create((long w, int codepoint, int mods) -> {
+                GLFWCharModsCallbackI target = this.charModsCallback;
+                if (target != null) {
+                    target.invoke(w, codepoint, mods);
+                }
+            }), closure -> glfwSetCharModsCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the character with modifiers callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWCharModsCallbackI getCharMods() {
+        return charModsCallback;
+    }
+
+    /**
+     * Sets the cursor boundary crossing callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setCursorEnterCallback(GLFWCursorEnterCallbackI)
+     */
+    @Nullable
+    public GLFWCursorEnterCallback setCursorEnter(@Nullable GLFWCursorEnterCallbackI callback) {
+        this.cursorEnterCallback = callback;
+        if (callback != null && cursorEnterCallbackSlot.closure == null) {
+            return cursorEnterCallbackSlot.install(GLFWCursorEnterCallback.create((long w, boolean entered) -> {
+                GLFWCursorEnterCallbackI target = this.cursorEnterCallback;
+                if (target != null) {
+                    target.invoke(w, entered);
+                }
+            }), closure -> glfwSetCursorEnterCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cursor boundary crossing callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWCursorEnterCallbackI getCursorEnter() {
+        return cursorEnterCallback;
+    }
+
+    /**
+     * Sets the cursor position callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setCursorPositionCallback(GLFWCursorPosCallbackI)
+     */
+    @Nullable
+    public GLFWCursorPosCallback setCursorPosition(@Nullable GLFWCursorPosCallbackI callback) {
+        this.cursorPositionCallback = callback;
+        if (callback != null && cursorPositionCallbackSlot.closure == null) {
+            return cursorPositionCallbackSlot.install(GLFWCursorPosCallback.create((long w, double xpos, double ypos) -> {
+                GLFWCursorPosCallbackI target = this.cursorPositionCallback;
+                if (target != null) {
+                    target.invoke(w, xpos, ypos);
+                }
+            }), closure -> glfwSetCursorPosCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cursor position callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWCursorPosCallbackI getCursorPosition() {
+        return cursorPositionCallback;
+    }
+
+    /**
+     * Sets the file drop callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setDropCallback(GLFWDropCallbackI)
+     */
+    @Nullable
+    public GLFWDropCallback setDrop(@Nullable GLFWDropCallbackI callback) {
+        this.dropCallback = callback;
+        if (callback != null && dropCallbackSlot.closure == null) {
+            return dropCallbackSlot.install(GLFWDropCallback.create((long w, int count, long names) -> {
+                GLFWDropCallbackI target = this.dropCallback;
+                if (target != null) {
+                    target.invoke(w, count, names);
+                }
+            }), closure -> glfwSetDropCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the file drop callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWDropCallbackI getDrop() {
+        return dropCallback;
+    }
+
+    /**
+     * Sets the framebuffer resize callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setFrameBufferSizeCallback(GLFWFramebufferSizeCallbackI)
+     */
+    @Nullable
+    public GLFWFramebufferSizeCallback setFrameBufferSize(@Nullable GLFWFramebufferSizeCallbackI callback) {
+        this.frameBufferSizeCallback = callback;
+        if (callback != null && frameBufferSizeCallbackSlot.closure == null) {
+            return installFrameBufferSize();
+        }
+        return null;
+    }
+
+    private GLFWFramebufferSizeCallback installFrameBufferSize() {
+        return frameBufferSizeCallbackSlot.install(GLFWFramebufferSizeCallback.create((long w, int width, int height) -> {
+            FlightRecorderHooks.resize(w, width, height, true);
+            GLFWFramebufferSizeCallbackI target = this.frameBufferSizeCallback;
+            if (target != null) {
+                target.invoke(w, width, height);
+            }
+        }), closure -> glfwSetFramebufferSizeCallback(window, closure));
+    }
+
+    /**
+     * Returns the framebuffer resize callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWFramebufferSizeCallbackI getFrameBufferSize() {
+        return frameBufferSizeCallback;
+    }
+
+    /**
+     * Sets the key callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setKeyCallback(GLFWKeyCallbackI)
+     */
+    @Nullable
+    public GLFWKeyCallback setKey(@Nullable GLFWKeyCallbackI callback) {
+        this.keyCallback = callback;
+        if (callback != null && keyCallbackSlot.closure == null) {
+            return keyCallbackSlot.install(GLFWKeyCallback.create((long w, int key, int scancode, int action, int mods) -> {
+                GLFWKeyCallbackI target = this.keyCallback;
+                if (target != null) {
+                    target.invoke(w, key, scancode, action, mods);
+                }
+            }), closure -> glfwSetKeyCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the key callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWKeyCallbackI getKey() {
+        return keyCallback;
+    }
+
+    /**
+     * Sets the mouse button callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setMouseButtonCallback(GLFWMouseButtonCallbackI)
+     */
+    @Nullable
+    public GLFWMouseButtonCallback setMouseButton(@Nullable GLFWMouseButtonCallbackI callback) {
+        this.mouseButtonCallback = callback;
+        if (callback != null && mouseButtonCallbackSlot.closure == null) {
+            return mouseButtonCallbackSlot.install(GLFWMouseButtonCallback.create((long w, int button, int action, int mods) -> {
+                GLFWMouseButtonCallbackI target = this.mouseButtonCallback;
+                if (target != null) {
+                    target.invoke(w, button, action, mods);
+                }
+            }), closure -> glfwSetMouseButtonCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the mouse button callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWMouseButtonCallbackI getMouseButton() {
+        return mouseButtonCallback;
+    }
+
+    /**
+     * Sets the scroll callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setScrollCallback(GLFWScrollCallbackI)
+     */
+    @Nullable
+    public GLFWScrollCallback setScroll(@Nullable GLFWScrollCallbackI callback) {
+        this.scrollCallback = callback;
+        if (callback != null && scrollCallbackSlot.closure == null) {
+            return scrollCallbackSlot.install(GLFWScrollCallback.create((long w, double xoffset, double yoffset) -> {
+                GLFWScrollCallbackI target = this.scrollCallback;
+                if (target != null) {
+                    target.invoke(w, xoffset, yoffset);
+                }
+            }), closure -> glfwSetScrollCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the scroll callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWScrollCallbackI getScroll() {
+        return scrollCallback;
+    }
+
+    /**
+     * Sets the close callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setCloseCallback(GLFWWindowCloseCallbackI)
+     */
+    @Nullable
+    public GLFWWindowCloseCallback setClose(@Nullable GLFWWindowCloseCallbackI callback) {
+        this.closeCallback = callback;
+        if (callback != null && closeCallbackSlot.closure == null) {
+            return closeCallbackSlot.install(GLFWWindowCloseCallback.create((long w) -> {
+                GLFWWindowCloseCallbackI target = this.closeCallback;
+                if (target != null) {
+                    target.invoke(w);
+                }
+            }), closure -> glfwSetWindowCloseCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the close callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowCloseCallbackI getClose() {
+        return closeCallback;
+    }
+
+    /**
+     * Sets the content scale callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setContentScaleCallback(GLFWWindowContentScaleCallbackI)
+     */
+    @Nullable
+    public GLFWWindowContentScaleCallback setContentScale(@Nullable GLFWWindowContentScaleCallbackI callback) {
+        this.contentScaleCallback = callback;
+        if (callback != null && contentScaleCallbackSlot.closure == null) {
+            return contentScaleCallbackSlot.install(GLFWWindowContentScaleCallback.create((long w, float xscale, float yscale) -> {
+                GLFWWindowContentScaleCallbackI target = this.contentScaleCallback;
+                if (target != null) {
+                    target.invoke(w, xscale, yscale);
+                }
+            }), closure -> glfwSetWindowContentScaleCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the content scale callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowContentScaleCallbackI getContentScale() {
+        return contentScaleCallback;
+    }
+
+    /**
+     * Sets the focus callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setFocusCallback(GLFWWindowFocusCallbackI)
+     */
+    @Nullable
+    public GLFWWindowFocusCallback setFocus(@Nullable GLFWWindowFocusCallbackI callback) {
+        this.focusCallback = callback;
+        if (callback != null && focusCallbackSlot.closure == null) {
+            return focusCallbackSlot.install(GLFWWindowFocusCallback.create((long w, boolean focused) -> {
+                GLFWWindowFocusCallbackI target = this.focusCallback;
+                if (target != null) {
+                    target.invoke(w, focused);
+                }
+            }), closure -> glfwSetWindowFocusCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the focus callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowFocusCallbackI getFocus() {
+        return focusCallback;
+    }
+
+    /**
+     * Sets the iconification callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setIconifyCallback(GLFWWindowIconifyCallbackI)
+     */
+    @Nullable
+    public GLFWWindowIconifyCallback setIconify(@Nullable GLFWWindowIconifyCallbackI callback) {
+        this.iconifyCallback = callback;
+        if (callback != null && iconifyCallbackSlot.closure == null) {
+            return iconifyCallbackSlot.install(GLFWWindowIconifyCallback.create((long w, boolean iconified) -> {
+                GLFWWindowIconifyCallbackI target = this.iconifyCallback;
+                if (target != null) {
+                    target.invoke(w, iconified);
+                }
+            }), closure -> glfwSetWindowIconifyCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the iconification callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowIconifyCallbackI getIconify() {
+        return iconifyCallback;
+    }
+
+    /**
+     * Sets the maximization callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setMaximizeCallback(GLFWWindowMaximizeCallbackI)
+     */
+    @Nullable
+    public GLFWWindowMaximizeCallback setMaximize(@Nullable GLFWWindowMaximizeCallbackI callback) {
+        this.maximizeCallback = callback;
+        if (callback != null && maximizeCallbackSlot.closure == null) {
+            return maximizeCallbackSlot.install(GLFWWindowMaximizeCallback.create((long w, boolean maximized) -> {
+                GLFWWindowMaximizeCallbackI target = this.maximizeCallback;
+                if (target != null) {
+                    target.invoke(w, maximized);
+                }
+            }), closure -> glfwSetWindowMaximizeCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the maximization callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowMaximizeCallbackI getMaximize() {
+        return maximizeCallback;
+    }
+
+    /**
+     * Sets the position callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setPositionCallback(GLFWWindowPosCallbackI)
+     */
+    @Nullable
+    public GLFWWindowPosCallback setPosition(@Nullable GLFWWindowPosCallbackI callback) {
+        this.positionCallback = callback;
+        if (callback != null && positionCallbackSlot.closure == null) {
+            return positionCallbackSlot.install(GLFWWindowPosCallback.create((long w, int xpos, int ypos) -> {
+                GLFWWindowPosCallbackI target = this.positionCallback;
+                if (target != null) {
+                    target.invoke(w, xpos, ypos);
+                }
+            }), closure -> glfwSetWindowPosCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the position callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowPosCallbackI getPosition() {
+        return positionCallback;
+    }
+
+    /**
+     * Sets the refresh callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setRefreshCallback(GLFWWindowRefreshCallbackI)
+     */
+    @Nullable
+    public GLFWWindowRefreshCallback setRefresh(@Nullable GLFWWindowRefreshCallbackI callback) {
+        this.refreshCallback = callback;
+        if (callback != null && refreshCallbackSlot.closure == null) {
+            return refreshCallbackSlot.install(GLFWWindowRefreshCallback.create((long w) -> {
+                GLFWWindowRefreshCallbackI target = this.refreshCallback;
+                if (target != null) {
+                    target.invoke(w);
+                }
+            }), closure -> glfwSetWindowRefreshCallback(window, closure));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the refresh callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowRefreshCallbackI getRefresh() {
+        return refreshCallback;
+    }
+
+    /**
+     * Sets the size callback target.
+     *
+     * @param callback the new target, or {@code null} to ignore the events
+     *
+     * @return the callback previously set with the raw setter that the managed closure displaced, owned by the caller, or {@code null}
+     *
+     * @see Window#setSizeCallback(GLFWWindowSizeCallbackI)
+     */
+    @Nullable
+    public GLFWWindowSizeCallback setSize(@Nullable GLFWWindowSizeCallbackI callback) {
+        this.sizeCallback = callback;
+        if (callback != null && sizeCallbackSlot.closure == null) {
+            return installSize();
+        }
+        return null;
+    }
+
+    private GLFWWindowSizeCallback installSize() {
+        return sizeCallbackSlot.install(GLFWWindowSizeCallback.create((long w, int width, int height) -> {
+            FlightRecorderHooks.resize(w, width, height, false);
+            GLFWWindowSizeCallbackI target = this.sizeCallback;
+            if (target != null) {
+                target.invoke(w, width, height);
+            }
+        }), closure -> glfwSetWindowSizeCallback(window, closure));
+    }
+
+    /**
+     * Returns the size callback target, e.g. to chain to it.
+     *
+     * @return the current target, or {@code null}
+     */
+    @Nullable
+    public GLFWWindowSizeCallbackI getSize() {
+        return sizeCallback;
+    }
+
+    /**
+     * Frees the managed closure if {@code previous}, the callback replaced by a raw setter, is one of them.
+     *
+     * @param previous the callback replaced by a raw setter
+     *
+     * @return {@code previous}, or {@code null} if it was a managed closure
+     */
+    @Nullable
+    <C extends Callback> C released(@Nullable C previous) {
+        if (previous == null) {
+            return null;
+        }
+        long address = previous.address();
+        if (charCallbackSlot.release(address)) {
+            return null;
+        }
+        if (charModsCallbackSlot.release(address)) {
+            return null;
+        }
+        if (cursorEnterCallbackSlot.release(address)) {
+            return null;
+        }
+        if (cursorPositionCallbackSlot.release(address)) {
+            return null;
+        }
+        if (dropCallbackSlot.release(address)) {
+            return null;
+        }
+        if (frameBufferSizeCallbackSlot.release(address)) {
+            return null;
+        }
+        if (keyCallbackSlot.release(address)) {
+            return null;
+        }
+        if (mouseButtonCallbackSlot.release(address)) {
+            return null;
+        }
+        if (scrollCallbackSlot.release(address)) {
+            return null;
+        }
+        if (closeCallbackSlot.release(address)) {
+            return null;
+        }
+        if (contentScaleCallbackSlot.release(address)) {
+            return null;
+        }
+        if (focusCallbackSlot.release(address)) {
+            return null;
+        }
+        if (iconifyCallbackSlot.release(address)) {
+            return null;
+        }
+        if (maximizeCallbackSlot.release(address)) {
+            return null;
+        }
+        if (positionCallbackSlot.release(address)) {
+            return null;
+        }
+        if (refreshCallbackSlot.release(address)) {
+            return null;
+        }
+        if (sizeCallbackSlot.release(address)) {
+            return null;
+        }
+        return previous;
+    }
+
+    /**
+     * Drops every closure and target, after {@link org.lwjgl.glfw.Callbacks#glfwFreeCallbacks FreeCallbacks} freed the closures.
+     */
+    void forget() {
+        charCallbackSlot.closure = null;
+        charCallback = null;
+        charModsCallbackSlot.closure = null;
+        charModsCallback = null;
+        cursorEnterCallbackSlot.closure = null;
+        cursorEnterCallback = null;
+        cursorPositionCallbackSlot.closure = null;
+        cursorPositionCallback = null;
+        dropCallbackSlot.closure = null;
+        dropCallback = null;
+        frameBufferSizeCallbackSlot.closure = null;
+        frameBufferSizeCallback = null;
+        keyCallbackSlot.closure = null;
+        keyCallback = null;
+        mouseButtonCallbackSlot.closure = null;
+        mouseButtonCallback = null;
+        scrollCallbackSlot.closure = null;
+        scrollCallback = null;
+        closeCallbackSlot.closure = null;
+        closeCallback = null;
+        contentScaleCallbackSlot.closure = null;
+        contentScaleCallback = null;
+        focusCallbackSlot.closure = null;
+        focusCallback = null;
+        iconifyCallbackSlot.closure = null;
+        iconifyCallback = null;
+        maximizeCallbackSlot.closure = null;
+        maximizeCallback = null;
+        positionCallbackSlot.closure = null;
+        positionCallback = null;
+        refreshCallbackSlot.closure = null;
+        refreshCallback = null;
+        sizeCallbackSlot.closure = null;
+        sizeCallback = null;
+    }
+
+    /**
+     * Installs the size and framebuffer size closures without a target, so resizes are reported to Java Flight Recorder even when the application does
+     * not listen to them.
+     */
+    void recordResizes() {
+        if (sizeCallbackSlot.closure == null) {
+            installSize();
+        }
+        if (frameBufferSizeCallbackSlot.closure == null) {
+            installFrameBufferSize();
+        }
+    }
+
+    /**
+     * The native closure of one event type.
+     */
+    private static final class Slot<C extends Callback> {
+        @Nullable
+        C closure;
+
+        /**
+         * Installs a closure created by this class.
+         *
+         * @return the callback it displaced, never one created by this class since a slot is only installed while empty
+         */
+        @Nullable
+        C install(C closure, Function<C, C> setter) {
+            CALL_INSTALL.count();
+            C previous = setter.apply(closure);
+            this.closure = closure;
+            return previous;
+        }
+
+        boolean release(long address) {
+            if (closure == null || closure.address() != address) {
+                return false;
+            }
+            closure.free();
+            closure = null;
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,342 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * An immutable set of window hints, applied in one step before creating a {@link Window}.
+ *
+ * <p>Hints not in the set keep their GLFW default value. Applying a set only pushes the hints that differ from the set applied last, so creating many
+ * windows from the same set, e.g. from a pool, does not re-issue any hint call. Sets are immutable and can be built once, cached and shared.</p>
+ *
+ * <pre>{@code
+ * static final WindowHints POPUP = WindowHints.builder()
+ *         .hint(GLFW_DECORATED, GLFW_FALSE)
+ *         .hint(GLFW_FLOATING, GLFW_TRUE)
+ *         .build();
+ *
+ * Window popup = new Window(320, 240, "Popup", POPUP);
+ * }</pre>
+ *
+ * <p>Hints set directly with {@link GLFW#glfwWindowHint WindowHint} are not seen by the diff, call {@link #invalidate()} after doing so.</p>
+ *
+ * @author k4zoku
+ */
+public final class WindowHints {
+
+    /**
+     * The set with every hint at its default value.
+     */
+    public static final WindowHints DEFAULT = new WindowHints(new int[0], new int[0], new int[0], new String[0]);
+
+    private static final Map<Integer, Integer> DEFAULT_VALUES = new HashMap<>();
+
+    static {
+        int[][] defaults = {
+                {GLFW_RESIZABLE, GLFW_TRUE}, {GLFW_VISIBLE, GLFW_TRUE}, {GLFW_DECORATED, GLFW_TRUE}, {GLFW_FOCUSED, GLFW_TRUE},
+                {GLFW_AUTO_ICONIFY, GLFW_TRUE}, {GLFW_FLOATING, GLFW_FALSE}, {GLFW_MAXIMIZED, GLFW_FALSE}, {GLFW_CENTER_CURSOR, GLFW_TRUE},
+                {GLFW_TRANSPARENT_FRAMEBUFFER, GLFW_FALSE}, {GLFW_FOCUS_ON_SHOW, GLFW_TRUE}, {GLFW_SCALE_TO_MONITOR, GLFW_FALSE},
+                {GLFW_MOUSE_PASSTHROUGH, GLFW_FALSE},
+                {GLFW_RED_BITS, 8}, {GLFW_GREEN_BITS, 8}, {GLFW_BLUE_BITS, 8}, {GLFW_ALPHA_BITS, 8}, {GLFW_DEPTH_BITS, 24}, {GLFW_STENCIL_BITS, 8},
+                {GLFW_ACCUM_RED_BITS, 0}, {GLFW_ACCUM_GREEN_BITS, 0}, {GLFW_ACCUM_BLUE_BITS, 0}, {GLFW_ACCUM_ALPHA_BITS, 0}, {GLFW_AUX_BUFFERS, 0},
+                {GLFW_STEREO, GLFW_FALSE}, {GLFW_SAMPLES, 0}, {GLFW_SRGB_CAPABLE, GLFW_FALSE}, {GLFW_DOUBLEBUFFER, GLFW_TRUE},
+                {GLFW_REFRESH_RATE, GLFW_DONT_CARE},
+                {GLFW_CLIENT_API, GLFW_OPENGL_API}, {GLFW_CONTEXT_CREATION_API, GLFW_NATIVE_CONTEXT_API}, {GLFW_CONTEXT_VERSION_MAJOR, 1},
+                {GLFW_CONTEXT_VERSION_MINOR, 0}, {GLFW_CONTEXT_ROBUSTNESS, GLFW_NO_ROBUSTNESS}, {GLFW_CONTEXT_RELEASE_BEHAVIOR, GLFW_ANY_RELEASE_BEHAVIOR},
+                {GLFW_OPENGL_FORWARD_COMPAT, GLFW_FALSE}, {GLFW_OPENGL_DEBUG_CONTEXT, GLFW_FALSE}, {GLFW_OPENGL_PROFILE, GLFW_OPENGL_ANY_PROFILE},
+                {GLFW_CONTEXT_NO_ERROR, GLFW_FALSE}, {GLFW_COCOA_RETINA_FRAMEBUFFER, GLFW_TRUE}, {GLFW_COCOA_GRAPHICS_SWITCHING, GLFW_FALSE},
+        };
+        for (int[] hint : defaults) {
+            DEFAULT_VALUES.put(hint[0], hint[1]);
+        }
+    }
+
+    /**
+     * The set applied last, {@code null} if the GLFW hint state is unknown.
+     */
+    @Nullable
+    private static WindowHints applied;
+
+    private final int[] keys;
+    private final int[] values;
+    private final int[] stringKeys;
+    private final String[] stringValues;
+    private final int hash;
+
+    private WindowHints(int[] keys, int[] values, int[] stringKeys, String[] stringValues) {
+        this.keys = keys;
+        this.values = values;
+        this.stringKeys = stringKeys;
+        this.stringValues = stringValues;
+        this.hash = 31 * (31 * Arrays.hashCode(keys) + Arrays.hashCode(values)) + 31 * Arrays.hashCode(stringKeys) + Arrays.hashCode(stringValues);
+    }
+
+    /**
+     * Creates an empty builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with the hints of this set.
+     *
+     * @return the builder
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        for (int i = 0; i < keys.length; i++) {
+            builder.hint(keys[i], values[i]);
+        }
+        for (int i = 0; i < stringKeys.length; i++) {
+            builder.hint(stringKeys[i], stringValues[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a copy of this set with one more integer hint.
+     *
+     * @param hint  the window hint
+     * @param value the new value
+     *
+     * @return the new set, or this set if the hint already has this value
+     */
+    public WindowHints with(int hint, int value) {
+        int index = Arrays.binarySearch(keys, hint);
+        if (index >= 0 && values[index] == value) {
+            return this;
+        }
+        return toBuilder().hint(hint, value).build();
+    }
+
+    /**
+     * Returns a copy of this set with one more string hint.
+     *
+     * @param hint  the window hint
+     * @param value the new value
+     *
+     * @return the new set, or this set if the hint already has this value
+     */
+    public WindowHints with(int hint, @NotNull String value) {
+        int index = Arrays.binarySearch(stringKeys, hint);
+        if (index >= 0 && stringValues[index].equals(value)) {
+            return this;
+        }
+        return toBuilder().hint(hint, value).build();
+    }
+
+    /**
+     * Returns the value of an integer hint in this set.
+     *
+     * @param hint the window hint
+     *
+     * @return the value, or the GLFW default if this set does not contain it
+     *
+     * @throws IllegalArgumentException if the hint is not in this set and its default value is unknown
+     */
+    public int get(int hint) {
+        int index = Arrays.binarySearch(keys, hint);
+        if (index >= 0) {
+            return values[index];
+        }
+        Integer value = DEFAULT_VALUES.get(hint);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown default value for window hint 0x" + Integer.toHexString(hint));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of a string hint in this set.
+     *
+     * @param hint the window hint
+     *
+     * @return the value, or the empty string, the GLFW default, if this set does not contain it
+     */
+    public String getString(int hint) {
+        int index = Arrays.binarySearch(stringKeys, hint);
+        return index >= 0 ? stringValues[index] : "";
+    }
+
+    /**
+     * Makes this set the current window hints, pushing only the hints that differ from the set applied last.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     */
+    public void apply() {
+        WindowHints previous = applied;
+        if (previous == this) {
+            return;
+        }
+        if (previous == null || !previous.canDiff(this)) {
+            glfwDefaultWindowHints();
+            previous = DEFAULT;
+        }
+        // Both key arrays are sorted, walk them together.
+        int i = 0;
+        int j = 0;
+        while (i < previous.keys.length || j < keys.length) {
+            int old = i < previous.keys.length ? previous.keys[i] : Integer.MAX_VALUE;
+            int key = j < keys.length ? keys[j] : Integer.MAX_VALUE;
+            if (old < key) {
+                glfwWindowHint(old, DEFAULT_VALUES.get(old));
+                i++;
+            } else if (key < old) {
+                pushIfChanged(key, values[j], DEFAULT_VALUES.get(key));
+                j++;
+            } else {
+                pushIfChanged(key, values[j], previous.values[i]);
+                i++;
+                j++;
+            }
+        }
+        for (int k = 0; k < previous.stringKeys.length; k++) {
+            if (Arrays.binarySearch(stringKeys, previous.stringKeys[k]) < 0) {
+                glfwWindowHintString(previous.stringKeys[k], "");
+            }
+        }
+        for (int k = 0; k < stringKeys.length; k++) {
+            if (!stringValues[k].equals(previous.getString(stringKeys[k]))) {
+                glfwWindowHintString(stringKeys[k], stringValues[k]);
+            }
+        }
+        applied = this;
+    }
+
+    /**
+     * Forgets the set applied last, so the next {@link #apply()} starts from {@link GLFW#glfwDefaultWindowHints DefaultWindowHints}. Call this after setting
+     * hints directly with {@link GLFW#glfwWindowHint WindowHint}.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     */
+    public static void invalidate() {
+        applied = null;
+    }
+
+    /**
+     * Whether every hint of {@code previous} missing from {@code next} can be reset individually.
+     */
+    private boolean canDiff(WindowHints next) {
+        for (int key : keys) {
+            if (Arrays.binarySearch(next.keys, key) < 0 && !DEFAULT_VALUES.containsKey(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void pushIfChanged(int hint, int value, @Nullable Integer current) {
+        if (current == null || current != value) {
+            glfwWindowHint(hint, value);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WindowHints)) {
+            return false;
+        }
+        WindowHints that = (WindowHints) o;
+        return hash == that.hash
+                && Arrays.equals(keys, that.keys) && Arrays.equals(values, that.values)
+                && Arrays.equals(stringKeys, that.stringKeys) && Arrays.equals(stringValues, that.stringValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Builder of {@link WindowHints}.
+     */
+    public static final class Builder {
+        private final TreeMap<Integer, Integer> hints = new TreeMap<>();
+        private final TreeMap<Integer, String> stringHints = new TreeMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets an integer hint, see {@link GLFW#glfwWindowHint WindowHint}.
+         *
+         * @param hint  the window hint
+         * @param value the new value
+         *
+         * @return this builder
+         */
+        public Builder hint(int hint, int value) {
+            hints.put(hint, value);
+            return this;
+        }
+
+        /**
+         * Sets an integer hint to {@link GLFW#GLFW_TRUE TRUE} or {@link GLFW#GLFW_FALSE FALSE}.
+         *
+         * @param hint  the window hint
+         * @param value the new value
+         *
+         * @return this builder
+         */
+        public Builder hint(int hint, boolean value) {
+            return hint(hint, value ? GLFW_TRUE : GLFW_FALSE);
+        }
+
+        /**
+         * Sets a string hint, see {@link GLFW#glfwWindowHintString WindowHintString}.
+         *
+         * @param hint  the window hint
+         * @param value the new value
+         *
+         * @return this builder
+         */
+        public Builder hint(int hint, @NotNull String value) {
+            stringHints.put(hint, value);
+            return this;
+        }
+
+        /**
+         * Creates the immutable set. Hints set to their default value are dropped.
+         *
+         * @return the hint set
+         */
+        public WindowHints build() {
+            int[] keys = new int[hints.size()];
+            int[] values = new int[hints.size()];
+            int n = 0;
+            for (Map.Entry<Integer, Integer> entry : hints.entrySet()) {
+                if (!entry.getValue().equals(DEFAULT_VALUES.get(entry.getKey()))) {
+                    keys[n] = entry.getKey();
+                    values[n] = entry.getValue();
+                    n++;
+                }
+            }
+            int[] stringKeys = new int[stringHints.size()];
+            String[] stringValues = new String[stringHints.size()];
+            int m = 0;
+            for (Map.Entry<Integer, String> entry : stringHints.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    stringKeys[m] = entry.getKey();
+                    stringValues[m] = entry.getValue();
+                    m++;
+                }
+            }
+            return new WindowHints(Arrays.copyOf(keys, n), Arrays.copyOf(values, n), Arrays.copyOf(stringKeys, m), Arrays.copyOf(stringValues, m));
+        }
+    }
+
+}
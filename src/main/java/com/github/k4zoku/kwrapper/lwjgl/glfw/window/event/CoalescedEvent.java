@@ -0,0 +1,27 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.event;
+
+/**
+ * The high-frequency window events an {@link EventCoalescer} can coalesce.
+ */
+public enum CoalescedEvent {
+    /**
+     * Cursor position, the latest position is kept.
+     */
+    CURSOR_POSITION,
+    /**
+     * Scroll, the offsets are summed.
+     */
+    SCROLL,
+    /**
+     * Window size, the latest size is kept.
+     */
+    SIZE,
+    /**
+     * Framebuffer size, the latest size is kept.
+     */
+    FRAMEBUFFER_SIZE,
+    /**
+     * Window position, the latest position is kept.
+     */
+    POSITION
+}
@@ -0,0 +1,290 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.event;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWCursorPosCallbackI;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallbackI;
+import org.lwjgl.glfw.GLFWScrollCallbackI;
+import org.lwjgl.glfw.GLFWWindowPosCallbackI;
+import org.lwjgl.glfw.GLFWWindowSizeCallbackI;
+
+import java.util.Arrays;
+
+/**
+ * Coalesces high-frequency events of a {@link Window}, delivering at most one event per type per frame.
+ *
+ * <p>During event polling, the coalescer only records the latest value of each event type, or the sum of the offsets for scroll events. {@link #flush()}
+ * then delivers one event per type that fired, so a resize drag reallocating framebuffers on every size event only reallocates once per frame.</p>
+ *
+ * <p>Coalescing can be turned off per {@link CoalescedEvent type}, events of that type are then delivered as they arrive. The coalescer owns the managed
+ * callback targets of the five event types, set the handlers on the coalescer instead of the window. Targets installed before the coalescer, e.g. by
+ * {@link ResizeDebouncer}, keep receiving every event as it arrives.</p>
+ *
+ * <pre>{@code
+ * EventCoalescer events = new EventCoalescer(window);
+ * events.setFrameBufferSizeHandler((handle, width, height) -> reallocate(width, height));
+ * while (!window.shouldClose()) {
+ *     glfwPollEvents();
+ *     events.flush();
+ *     render();
+ * }
+ * }</pre>
+ *
+ * <p>All methods must only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class EventCoalescer {
+
+    private final long window;
+    @Nullable
+    private final GLFWCursorPosCallbackI previousCursorPosition;
+    @Nullable
+    private final GLFWScrollCallbackI previousScroll;
+    @Nullable
+    private final GLFWWindowSizeCallbackI previousSize;
+    @Nullable
+    private final GLFWFramebufferSizeCallbackI previousFrameBufferSize;
+    @Nullable
+    private final GLFWWindowPosCallbackI previousPosition;
+    private final boolean[] coalesced = new boolean[CoalescedEvent.values().length];
+    private final int[] received = new int[CoalescedEvent.values().length];
+    private long delivered;
+    private long suppressed;
+
+    @Nullable
+    private GLFWCursorPosCallbackI cursorPositionHandler;
+    @Nullable
+    private GLFWScrollCallbackI scrollHandler;
+    @Nullable
+    private GLFWWindowSizeCallbackI sizeHandler;
+    @Nullable
+    private GLFWFramebufferSizeCallbackI frameBufferSizeHandler;
+    @Nullable
+    private GLFWWindowPosCallbackI positionHandler;
+
+    private double cursorX;
+    private double cursorY;
+    private double scrollX;
+    private double scrollY;
+    private int width;
+    private int height;
+    private int frameBufferWidth;
+    private int frameBufferHeight;
+    private int xpos;
+    private int ypos;
+
+    /**
+     * Creates a coalescer for every {@link CoalescedEvent event type}, installing its recorders as the managed callback targets of the window. The
+     * previous targets are chained.
+     *
+     * @param window the window
+     */
+    public EventCoalescer(@NotNull Window window) {
+        this.window = window.getPointer();
+        Arrays.fill(coalesced, true);
+        WindowCallbacks callbacks = window.getCallbacks();
+        this.previousCursorPosition = callbacks.getCursorPosition();
+        this.previousScroll = callbacks.getScroll();
+        this.previousSize = callbacks.getSize();
+        this.previousFrameBufferSize = callbacks.getFrameBufferSize();
+        this.previousPosition = callbacks.getPosition();
+        callbacks.setCursorPosition(this::onCursorPosition);
+        callbacks.setScroll(this::onScroll);
+        callbacks.setSize(this::onSize);
+        callbacks.setFrameBufferSize(this::onFrameBufferSize);
+        callbacks.setPosition(this::onPosition);
+    }
+
+    /**
+     * Sets whether an event type is coalesced. Events of that type recorded but not flushed yet are delivered right away when turning it off.
+     *
+     * @param type      the event type
+     * @param coalesced whether to coalesce it
+     */
+    public void setCoalesced(@NotNull CoalescedEvent type, boolean coalesced) {
+        if (!coalesced) {
+            deliver(type);
+        }
+        this.coalesced[type.ordinal()] = coalesced;
+    }
+
+    /**
+     * Returns whether an event type is coalesced.
+     *
+     * @param type the event type
+     *
+     * @return whether it is coalesced
+     */
+    public boolean isCoalesced(@NotNull CoalescedEvent type) {
+        return coalesced[type.ordinal()];
+    }
+
+    /**
+     * Sets the handler receiving the cursor position events.
+     *
+     * @param handler the handler, or {@code null} to drop the events
+     */
+    public void setCursorPositionHandler(@Nullable GLFWCursorPosCallbackI handler) {
+        this.cursorPositionHandler = handler;
+    }
+
+    /**
+     * Sets the handler receiving the scroll events.
+     *
+     * @param handler the handler, or {@code null} to drop the events
+     */
+    public void setScrollHandler(@Nullable GLFWScrollCallbackI handler) {
+        this.scrollHandler = handler;
+    }
+
+    /**
+     * Sets the handler receiving the window size events.
+     *
+     * @param handler the handler, or {@code null} to drop the events
+     */
+    public void setSizeHandler(@Nullable GLFWWindowSizeCallbackI handler) {
+        this.sizeHandler = handler;
+    }
+
+    /**
+     * Sets the handler receiving the framebuffer size events.
+     *
+     * @param handler the handler, or {@code null} to drop the events
+     */
+    public void setFrameBufferSizeHandler(@Nullable GLFWFramebufferSizeCallbackI handler) {
+        this.frameBufferSizeHandler = handler;
+    }
+
+    /**
+     * Sets the handler receiving the window position events.
+     *
+     * @param handler the handler, or {@code null} to drop the events
+     */
+    public void setPositionHandler(@Nullable GLFWWindowPosCallbackI handler) {
+        this.positionHandler = handler;
+    }
+
+    /**
+     * Delivers one event per type recorded since the last flush. Call this once per frame, after polling events.
+     */
+    public void flush() {
+        for (CoalescedEvent type : CoalescedEvent.values()) {
+            deliver(type);
+        }
+    }
+
+    /**
+     * Returns the number of events delivered to the handlers.
+     *
+     * @return the number of delivered events
+     */
+    public long getDeliveredCount() {
+        return delivered;
+    }
+
+    /**
+     * Returns the number of events merged into another one instead of being delivered.
+     *
+     * @return the number of suppressed events
+     */
+    public long getSuppressedCount() {
+        return suppressed;
+    }
+
+    private void deliver(CoalescedEvent type) {
+        int count = received[type.ordinal()];
+        if (count == 0) {
+            return;
+        }
+        received[type.ordinal()] = 0;
+        suppressed += count - 1;
+        delivered++;
+        switch (type) {
+            case CURSOR_POSITION:
+                if (cursorPositionHandler != null) {
+                    cursorPositionHandler.invoke(window, cursorX, cursorY);
+                }
+                break;
+            case SCROLL:
+                double x = scrollX;
+                double y = scrollY;
+                scrollX = 0;
+                scrollY = 0;
+                if (scrollHandler != null) {
+                    scrollHandler.invoke(window, x, y);
+                }
+                break;
+            case SIZE:
+                if (sizeHandler != null) {
+                    sizeHandler.invoke(window, width, height);
+                }
+                break;
+            case FRAMEBUFFER_SIZE:
+                if (frameBufferSizeHandler != null) {
+                    frameBufferSizeHandler.invoke(window, frameBufferWidth, frameBufferHeight);
+                }
+                break;
+            case POSITION:
+                if (positionHandler != null) {
+                    positionHandler.invoke(window, xpos, ypos);
+                }
+                break;
+        }
+    }
+
+    private void record(CoalescedEvent type) {
+        received[type.ordinal()]++;
+        if (!coalesced[type.ordinal()]) {
+            deliver(type);
+        }
+    }
+
+    private void onCursorPosition(long handle, double x, double y) {
+        this.cursorX = x;
+        this.cursorY = y;
+        if (previousCursorPosition != null) {
+            previousCursorPosition.invoke(handle, x, y);
+        }
+        record(CoalescedEvent.CURSOR_POSITION);
+    }
+
+    private void onScroll(long handle, double x, double y) {
+        this.scrollX += x;
+        this.scrollY += y;
+        if (previousScroll != null) {
+            previousScroll.invoke(handle, x, y);
+        }
+        record(CoalescedEvent.SCROLL);
+    }
+
+    private void onSize(long handle, int width, int height) {
+        this.width = width;
+        this.height = height;
+        if (previousSize != null) {
+            previousSize.invoke(handle, width, height);
+        }
+        record(CoalescedEvent.SIZE);
+    }
+
+    private void onFrameBufferSize(long handle, int width, int height) {
+        this.frameBufferWidth = width;
+        this.frameBufferHeight = height;
+        if (previousFrameBufferSize != null) {
+            previousFrameBufferSize.invoke(handle, width, height);
+        }
+        record(CoalescedEvent.FRAMEBUFFER_SIZE);
+    }
+
+    private void onPosition(long handle, int x, int y) {
+        this.xpos = x;
+        this.ypos = y;
+        if (previousPosition != null) {
+            previousPosition.invoke(handle, x, y);
+        }
+        record(CoalescedEvent.POSITION);
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.event;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallbackI;
+import org.lwjgl.glfw.GLFWMouseButtonCallbackI;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.glfw.GLFW.GLFW_RELEASE;
+
+/**
+ * Debounces the framebuffer size events of a {@link Window}, so size-dependent GPU resources are reallocated once per resize gesture.
+ *
+ * <p>Every framebuffer size event is forwarded to {@link ResizeListener#onResize(int, int)} for cheap previews. {@link ResizeListener#onSettled(int, int)}
+ * is only called once the size has not changed for the settle interval, checked by {@link #update()}, or as soon as a mouse button is released, and only
+ * if the settled size differs from the last settled one. Zero sizes, reported while the window is iconified, are forwarded as interim sizes but never
+ * settle.</p>
+ *
+ * <pre>{@code
+ * ResizeDebouncer resizes = new ResizeDebouncer(window, new ResizeListener() {
+ *     public void onResize(int width, int height) { previewScale(width, height); }
+ *     public void onSettled(int width, int height) { reallocateTargets(width, height); }
+ * });
+ * while (!window.shouldClose()) {
+ *     glfwPollEvents();
+ *     resizes.update();
+ *     render();
+ * }
+ * }</pre>
+ *
+ * <p>The recorders chain to the managed framebuffer size and mouse button callback targets set before the debouncer was created. All methods must only
+ * be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class ResizeDebouncer {
+
+    /**
+     * The default settle interval, in nanoseconds.
+     */
+    public static final long DEFAULT_SETTLE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(150);
+
+    private final ResizeListener listener;
+
+    private long settleInterval = DEFAULT_SETTLE_INTERVAL;
+    private int width;
+    private int height;
+    private int settledWidth;
+    private int settledHeight;
+    private long lastChange;
+    private boolean pending;
+    private long interimEvents;
+    private long settledEvents;
+
+    /**
+     * Creates a debouncer and installs it on the managed framebuffer size and mouse button callbacks of the window. The current framebuffer size is
+     * considered settled.
+     *
+     * @param window   the window
+     * @param listener the listener
+     */
+    public ResizeDebouncer(@NotNull Window window, @NotNull ResizeListener listener) {
+        this.listener = listener;
+        Size<Integer> size = window.getFrameBufferSize();
+        this.width = this.settledWidth = size.getWidth();
+        this.height = this.settledHeight = size.getHeight();
+
+        WindowCallbacks callbacks = window.getCallbacks();
+        GLFWFramebufferSizeCallbackI previousFrameBufferSize = callbacks.getFrameBufferSize();
+        callbacks.setFrameBufferSize((handle, w, h) -> {
+            onFrameBufferSize(w, h, System.nanoTime());
+            if (previousFrameBufferSize != null) {
+                previousFrameBufferSize.invoke(handle, w, h);
+            }
+        });
+        GLFWMouseButtonCallbackI previousMouseButton = callbacks.getMouseButton();
+        callbacks.setMouseButton((handle, button, action, mods) -> {
+            if (action == GLFW_RELEASE) {
+                settle();
+            }
+            if (previousMouseButton != null) {
+                previousMouseButton.invoke(handle, button, action, mods);
+            }
+        });
+    }
+
+    /**
+     * Sets how long the size must stay unchanged before it is settled.
+     *
+     * @param interval the interval
+     * @param unit     the unit of the interval
+     */
+    public void setSettleInterval(long interval, @NotNull TimeUnit unit) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Invalid settle interval " + interval);
+        }
+        this.settleInterval = unit.toNanos(interval);
+    }
+
+    /**
+     * Settles the pending size if it has not changed for the settle interval. Call this once per frame after polling events.
+     *
+     * @return whether the size was settled
+     */
+    public boolean update() {
+        return update(System.nanoTime());
+    }
+
+    /**
+     * Settles the pending size if it has not changed for the settle interval.
+     *
+     * @param now the current time, from {@link System#nanoTime()}
+     *
+     * @return whether the size was settled
+     */
+    public boolean update(long now) {
+        if (!pending || now - lastChange < settleInterval) {
+            return false;
+        }
+        return settle();
+    }
+
+    /**
+     * Settles the pending size immediately, e.g. before taking a screenshot.
+     *
+     * @return whether the size was settled
+     */
+    public boolean settle() {
+        if (!pending || width == 0 || height == 0) {
+            return false;
+        }
+        pending = false;
+        if (width == settledWidth && height == settledHeight) {
+            return false;
+        }
+        settledWidth = width;
+        settledHeight = height;
+        settledEvents++;
+        listener.onSettled(width, height);
+        return true;
+    }
+
+    /**
+     * Returns whether a resize is in progress.
+     *
+     * @return whether the size changed since it was last settled
+     */
+    public boolean isPending() {
+        return pending;
+    }
+
+    public int getSettledWidth() {
+        return settledWidth;
+    }
+
+    public int getSettledHeight() {
+        return settledHeight;
+    }
+
+    /**
+     * Returns the number of framebuffer size events received.
+     *
+     * @return the interim event count
+     */
+    public long getInterimEvents() {
+        return interimEvents;
+    }
+
+    /**
+     * Returns the number of settled events delivered.
+     *
+     * @return the settled event count
+     */
+    public long getSettledEvents() {
+        return settledEvents;
+    }
+
+    private void onFrameBufferSize(int width, int height, long now) {
+        this.width = width;
+        this.height = height;
+        this.lastChange = now;
+        this.pending = true;
+        interimEvents++;
+        listener.onResize(width, height);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.event;
+
+/**
+ * Receives the framebuffer sizes reported by a {@link ResizeDebouncer}.
+ *
+ * @author k4zoku
+ */
+@FunctionalInterface
+public interface ResizeListener {
+
+    /**
+     * Called for every framebuffer size event while a resize is in progress. Keep this cheap, e.g. stretch the last frame to the new size.
+     *
+     * @param width  the width of the framebuffer, in pixels
+     * @param height the height of the framebuffer, in pixels
+     */
+    default void onResize(int width, int height) {
+    }
+
+    /**
+     * Called once per resize gesture, after the size stopped changing. Reallocate the size-dependent resources here.
+     *
+     * @param width  the width of the framebuffer, in pixels
+     * @param height the height of the framebuffer, in pixels
+     */
+    void onSettled(int width, int height);
+}
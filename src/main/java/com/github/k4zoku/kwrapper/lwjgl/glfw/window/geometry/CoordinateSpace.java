@@ -0,0 +1,238 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.geometry;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.common.geometry.ContentScale;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowCallbacks;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallbackI;
+import org.lwjgl.glfw.GLFWWindowContentScaleCallbackI;
+import org.lwjgl.glfw.GLFWWindowSizeCallbackI;
+
+/**
+ * DPI-aware coordinate spaces of a {@link Window}, with scale factors kept up to date from its callbacks.
+ *
+ * <p>Instead of querying {@link Window#getSize()}, {@link Window#getFrameBufferSize()} and {@link Window#getContentScale()} every frame, the factors
+ * between every pair of {@link Unit units} are precomputed whenever the size, framebuffer size or content scale callback fires, and the transforms are
+ * plain multiplications over float arrays.</p>
+ *
+ * <pre>{@code
+ * CoordinateSpace space = new CoordinateSpace(window);
+ * // Convert UI vertices laid out in logical units to framebuffer pixels
+ * space.transformPoints(vertices, 0, pixels, 0, vertexCount, Unit.LOGICAL, Unit.FRAMEBUFFER);
+ * }</pre>
+ *
+ * <p>The callbacks chain to the managed size, framebuffer size and content scale callback targets set before the space was created. The factors are
+ * updated on the main thread during event polling, transforms on other threads should be synchronized with it, e.g. by comparing {@link #getVersion()}.
+ * While the window is iconified and its size is zero, the last valid factors are kept.</p>
+ *
+ * @author k4zoku
+ */
+public class CoordinateSpace {
+
+    /**
+     * The coordinate units of a window.
+     */
+    public enum Unit {
+        /**
+         * Screen coordinates, used by the window size and cursor position.
+         */
+        WINDOW,
+        /**
+         * Pixels of the framebuffer, used by the viewport.
+         */
+        FRAMEBUFFER,
+        /**
+         * Framebuffer pixels divided by the content scale, i.e. DPI-independent units.
+         */
+        LOGICAL
+    }
+
+    private static final int UNITS = 3;
+
+    private final float[] scaleX = new float[UNITS * UNITS];
+    private final float[] scaleY = new float[UNITS * UNITS];
+
+    private int width;
+    private int height;
+    private int frameBufferWidth;
+    private int frameBufferHeight;
+    private float contentScaleX;
+    private float contentScaleY;
+    private volatile int version;
+
+    /**
+     * Creates the coordinate space of a window, and installs it on the managed size, framebuffer size and content scale callbacks.
+     *
+     * <p>This function must only be called from the main thread.</p>
+     *
+     * @param window the window
+     */
+    public CoordinateSpace(@NotNull Window window) {
+        Size<Integer> size = window.getSize();
+        Size<Integer> frameBufferSize = window.getFrameBufferSize();
+        ContentScale contentScale = window.getContentScale();
+        this.width = size.getWidth();
+        this.height = size.getHeight();
+        this.frameBufferWidth = frameBufferSize.getWidth();
+        this.frameBufferHeight = frameBufferSize.getHeight();
+        this.contentScaleX = contentScale.getXscale();
+        this.contentScaleY = contentScale.getYscale();
+        for (int i = 0; i < UNITS * UNITS; i++) {
+            scaleX[i] = 1.0f;
+            scaleY[i] = 1.0f;
+        }
+        update();
+
+        WindowCallbacks callbacks = window.getCallbacks();
+        GLFWWindowSizeCallbackI previousSize = callbacks.getSize();
+        callbacks.setSize((handle, w, h) -> {
+            this.width = w;
+            this.height = h;
+            update();
+            if (previousSize != null) {
+                previousSize.invoke(handle, w, h);
+            }
+        });
+        GLFWFramebufferSizeCallbackI previousFrameBufferSize = callbacks.getFrameBufferSize();
+        callbacks.setFrameBufferSize((handle, w, h) -> {
+            this.frameBufferWidth = w;
+            this.frameBufferHeight = h;
+            update();
+            if (previousFrameBufferSize != null) {
+                previousFrameBufferSize.invoke(handle, w, h);
+            }
+        });
+        GLFWWindowContentScaleCallbackI previousContentScale = callbacks.getContentScale();
+        callbacks.setContentScale((handle, xscale, yscale) -> {
+            this.contentScaleX = xscale;
+            this.contentScaleY = yscale;
+            update();
+            if (previousContentScale != null) {
+                previousContentScale.invoke(handle, xscale, yscale);
+            }
+        });
+    }
+
+    /**
+     * Returns the horizontal factor converting coordinates from one unit to another.
+     *
+     * @param from the source unit
+     * @param to   the destination unit
+     *
+     * @return the factor
+     */
+    public float getScaleX(@NotNull Unit from, @NotNull Unit to) {
+        return scaleX[from.ordinal() * UNITS + to.ordinal()];
+    }
+
+    /**
+     * Returns the vertical factor converting coordinates from one unit to another.
+     *
+     * @param from the source unit
+     * @param to   the destination unit
+     *
+     * @return the factor
+     */
+    public float getScaleY(@NotNull Unit from, @NotNull Unit to) {
+        return scaleY[from.ordinal() * UNITS + to.ordinal()];
+    }
+
+    /**
+     * Converts a horizontal coordinate.
+     *
+     * @param x    the coordinate
+     * @param from the source unit
+     * @param to   the destination unit
+     *
+     * @return the converted coordinate
+     */
+    public float transformX(float x, @NotNull Unit from, @NotNull Unit to) {
+        return x * getScaleX(from, to);
+    }
+
+    /**
+     * Converts a vertical coordinate.
+     *
+     * @param y    the coordinate
+     * @param from the source unit
+     * @param to   the destination unit
+     *
+     * @return the converted coordinate
+     */
+    public float transformY(float y, @NotNull Unit from, @NotNull Unit to) {
+        return y * getScaleY(from, to);
+    }
+
+    /**
+     * Converts interleaved {@code x, y} points. The source and destination may be the same array.
+     *
+     * @param src       the source points
+     * @param srcOffset the index of the first source coordinate
+     * @param dst       the destination points
+     * @param dstOffset the index of the first destination coordinate
+     * @param count     the number of points
+     * @param from      the source unit
+     * @param to        the destination unit
+     */
+    public void transformPoints(float[] src, int srcOffset, float[] dst, int dstOffset, int count, @NotNull Unit from, @NotNull Unit to) {
+        transform(src, srcOffset, dst, dstOffset, count * 2, from, to);
+    }
+
+    /**
+     * Converts interleaved {@code x, y, width, height} rectangles. The source and destination may be the same array.
+     *
+     * @param src       the source rectangles
+     * @param srcOffset the index of the first source coordinate
+     * @param dst       the destination rectangles
+     * @param dstOffset the index of the first destination coordinate
+     * @param count     the number of rectangles
+     * @param from      the source unit
+     * @param to        the destination unit
+     */
+    public void transformRects(float[] src, int srcOffset, float[] dst, int dstOffset, int count, @NotNull Unit from, @NotNull Unit to) {
+        transform(src, srcOffset, dst, dstOffset, count * 4, from, to);
+    }
+
+    /**
+     * Returns a counter incremented every time the factors change, e.g. to invalidate layouts in framebuffer pixels.
+     *
+     * @return the version of the factors
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    private void transform(float[] src, int srcOffset, float[] dst, int dstOffset, int length, Unit from, Unit to) {
+        if (srcOffset < 0 || dstOffset < 0 || srcOffset + length > src.length || dstOffset + length > dst.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        float sx = getScaleX(from, to);
+        float sy = getScaleY(from, to);
+        // x and y alternate in both layouts, since width and height follow x and y.
+        for (int i = 0; i < length; i += 2) {
+            dst[dstOffset + i] = src[srcOffset + i] * sx;
+            dst[dstOffset + i + 1] = src[srcOffset + i + 1] * sy;
+        }
+    }
+
+    private void update() {
+        if (width <= 0 || height <= 0 || frameBufferWidth <= 0 || frameBufferHeight <= 0 || contentScaleX <= 0 || contentScaleY <= 0) {
+            return;
+        }
+        fill(scaleX, (float) frameBufferWidth / width, contentScaleX);
+        fill(scaleY, (float) frameBufferHeight / height, contentScaleY);
+        version++;
+    }
+
+    private static void fill(float[] scale, float windowToFrameBuffer, float contentScale) {
+        // Size of one unit of each kind in framebuffer pixels
+        float[] toPixels = {windowToFrameBuffer, 1.0f, contentScale};
+        for (int from = 0; from < UNITS; from++) {
+            for (int to = 0; to < UNITS; to++) {
+                scale[from * UNITS + to] = toPixels[from] / toPixels[to];
+            }
+        }
+    }
+
+}
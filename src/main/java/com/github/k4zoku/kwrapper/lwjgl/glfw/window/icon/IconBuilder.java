@@ -0,0 +1,145 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.common.image.PixelData;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a {@link WindowIcon} from a single source image.
+ *
+ * <p>The source is decoded once and downscaled to each requested size with an area-averaging filter. Sizes are generated in parallel on the common
+ * fork-join pool unless {@link #parallel(boolean) disabled}. Sizes larger than the source are skipped, GLFW picks the closest available image anyway.</p>
+ *
+ * <p>Building does not call into GLFW and may be done from any thread.</p>
+ *
+ * @author k4zoku
+ */
+public class IconBuilder {
+
+    /**
+     * The icon sizes generated by default, in pixels.
+     */
+    public static final int[] STANDARD_SIZES = {16, 24, 32, 48, 64, 96, 128, 256};
+
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+    private int[] sizes;
+    private boolean parallel;
+
+    private IconBuilder(int[] pixels, int width, int height) {
+        if (width <= 0 || height <= 0 || pixels.length < width * height) {
+            throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+        }
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.sizes = STANDARD_SIZES;
+        this.parallel = true;
+    }
+
+    /**
+     * Creates a builder from packed, non-premultiplied ARGB pixels. The array is not copied and must not be modified until {@link #build()} returns.
+     *
+     * @param argb   the pixels, row by row, starting from the top-left corner
+     * @param width  the width of the image
+     * @param height the height of the image
+     *
+     * @return the builder
+     */
+    public static IconBuilder fromPixels(int[] argb, int width, int height) {
+        return new IconBuilder(argb, width, height);
+    }
+
+    /**
+     * Creates a builder from a decoded image.
+     *
+     * @param image the image
+     *
+     * @return the builder
+     */
+    public static IconBuilder fromImage(@NotNull BufferedImage image) {
+        return new IconBuilder(PixelData.toArgb(image), image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Creates a builder from an image file in any format supported by {@link javax.imageio.ImageIO ImageIO}.
+     *
+     * @param path the image file
+     *
+     * @return the builder
+     *
+     * @throws IOException if the file cannot be read or decoded
+     */
+    public static IconBuilder fromFile(Path path) throws IOException {
+        return fromImage(PixelData.decode(path));
+    }
+
+    /**
+     * Creates a builder from an encoded image. The stream is not closed.
+     *
+     * @param in the encoded image
+     *
+     * @return the builder
+     *
+     * @throws IOException if the stream cannot be read or decoded
+     */
+    public static IconBuilder fromStream(InputStream in) throws IOException {
+        return fromImage(PixelData.decode(in));
+    }
+
+    /**
+     * Sets the icon sizes to generate, replacing {@link #STANDARD_SIZES}.
+     *
+     * @param sizes the edge lengths, in pixels
+     *
+     * @return this builder
+     */
+    public IconBuilder sizes(int... sizes) {
+        for (int size : sizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Invalid icon size " + size);
+            }
+        }
+        this.sizes = sizes.clone();
+        return this;
+    }
+
+    /**
+     * Sets whether the sizes are generated in parallel. Enabled by default.
+     *
+     * @param parallel whether to use the common fork-join pool
+     *
+     * @return this builder
+     */
+    public IconBuilder parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Generates the icon images and copies them into native memory.
+     *
+     * @return the icon, owned by the caller until it is attached to a window
+     */
+    public WindowIcon build() {
+        int largest = Math.max(width, height);
+        int[] targets = IntStream.of(sizes).filter(size -> size <= largest).distinct().sorted().toArray();
+        if (targets.length == 0) {
+            targets = new int[]{largest};
+        }
+        IntStream stream = Arrays.stream(targets);
+        if (parallel) {
+            stream = stream.parallel();
+        }
+        int[][] images = stream.mapToObj(size -> IconScaler.fit(pixels, width, height, size)).toArray(int[][]::new);
+        return new WindowIcon(targets, images);
+    }
+
+}
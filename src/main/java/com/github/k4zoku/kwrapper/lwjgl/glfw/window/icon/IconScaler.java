@@ -0,0 +1,158 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon;
+
+/**
+ * Area-averaging (box filter) resampler used to produce the icon sizes.
+ *
+ * <p>Filtering is done on premultiplied alpha so transparent pixels do not bleed dark fringes into the edges of the icon, and the two axes are resampled
+ * separately so the cost is proportional to the size of the source instead of the product of the source and target sizes.</p>
+ *
+ * @author k4zoku
+ */
+final class IconScaler {
+
+    private IconScaler() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Scales an image to fit a {@code size * size} square, keeping its aspect ratio. Uncovered space is left transparent and the image is centered.
+     *
+     * @param src    the source pixels, packed ARGB
+     * @param width  the width of the source
+     * @param height the height of the source
+     * @param size   the edge length of the target square
+     *
+     * @return the target pixels, packed ARGB
+     */
+    static int[] fit(int[] src, int width, int height, int size) {
+        int targetWidth = size;
+        int targetHeight = size;
+        if (width > height) {
+            targetHeight = Math.max(1, Math.round(size * (float) height / width));
+        } else if (height > width) {
+            targetWidth = Math.max(1, Math.round(size * (float) width / height));
+        }
+        int[] scaled = resample(src, width, height, targetWidth, targetHeight);
+        if (targetWidth == size && targetHeight == size) {
+            return scaled;
+        }
+        int[] square = new int[size * size];
+        int xoff = (size - targetWidth) / 2;
+        int yoff = (size - targetHeight) / 2;
+        for (int y = 0; y < targetHeight; y++) {
+            System.arraycopy(scaled, y * targetWidth, square, (y + yoff) * size + xoff, targetWidth);
+        }
+        return square;
+    }
+
+    /**
+     * Resamples an image to the given size.
+     *
+     * @param src          the source pixels, packed ARGB
+     * @param width        the width of the source
+     * @param height       the height of the source
+     * @param targetWidth  the width of the result
+     * @param targetHeight the height of the result
+     *
+     * @return the resampled pixels, packed ARGB
+     */
+    static int[] resample(int[] src, int width, int height, int targetWidth, int targetHeight) {
+        if (width == targetWidth && height == targetHeight) {
+            return src.clone();
+        }
+
+        // Horizontal pass, into premultiplied floats: [a, r*a, g*a, b*a] per pixel.
+        Weights wx = Weights.of(width, targetWidth);
+        float[] tmp = new float[targetWidth * height * 4];
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            for (int x = 0; x < targetWidth; x++) {
+                float a = 0, r = 0, g = 0, b = 0;
+                int first = wx.first[x];
+                int base = x * wx.stride;
+                for (int k = 0, n = wx.count[x]; k < n; k++) {
+                    int pixel = src[row + first + k];
+                    float pa = (pixel >>> 24) * wx.weights[base + k];
+                    a += pa;
+                    r += ((pixel >>> 16) & 0xFF) * pa;
+                    g += ((pixel >>> 8) & 0xFF) * pa;
+                    b += (pixel & 0xFF) * pa;
+                }
+                int i = (y * targetWidth + x) * 4;
+                tmp[i] = a;
+                tmp[i + 1] = r;
+                tmp[i + 2] = g;
+                tmp[i + 3] = b;
+            }
+        }
+
+        // Vertical pass, then back to non-premultiplied ARGB.
+        Weights wy = Weights.of(height, targetHeight);
+        int[] dst = new int[targetWidth * targetHeight];
+        for (int y = 0; y < targetHeight; y++) {
+            int first = wy.first[y];
+            int base = y * wy.stride;
+            for (int x = 0; x < targetWidth; x++) {
+                float a = 0, r = 0, g = 0, b = 0;
+                for (int k = 0, n = wy.count[y]; k < n; k++) {
+                    float w = wy.weights[base + k];
+                    int i = ((first + k) * targetWidth + x) * 4;
+                    a += tmp[i] * w;
+                    r += tmp[i + 1] * w;
+                    g += tmp[i + 2] * w;
+                    b += tmp[i + 3] * w;
+                }
+                dst[y * targetWidth + x] = a <= 0 ? 0 : pack(a, r / a, g / a, b / a);
+            }
+        }
+        return dst;
+    }
+
+    private static int pack(float a, float r, float g, float b) {
+        return clamp(a) << 24 | clamp(r) << 16 | clamp(g) << 8 | clamp(b);
+    }
+
+    private static int clamp(float value) {
+        int v = Math.round(value);
+        return v < 0 ? 0 : Math.min(v, 255);
+    }
+
+    /**
+     * Precomputed contributions of source pixels to each target pixel along one axis.
+     */
+    private static final class Weights {
+        final int[] first;
+        final int[] count;
+        final float[] weights;
+        final int stride;
+
+        private Weights(int[] first, int[] count, float[] weights, int stride) {
+            this.first = first;
+            this.count = count;
+            this.weights = weights;
+            this.stride = stride;
+        }
+
+        static Weights of(int source, int target) {
+            double scale = (double) source / target;
+            int stride = (int) Math.ceil(scale) + 1;
+            int[] first = new int[target];
+            int[] count = new int[target];
+            float[] weights = new float[target * stride];
+            for (int i = 0; i < target; i++) {
+                double lo = i * scale;
+                double hi = Math.min(source, (i + 1) * scale);
+                int start = (int) Math.floor(lo);
+                int end = Math.min(source - 1, (int) Math.ceil(hi) - 1);
+                first[i] = start;
+                count[i] = end - start + 1;
+                for (int j = start; j <= end; j++) {
+                    double coverage = Math.min(hi, j + 1) - Math.max(lo, j);
+                    weights[i * stride + j - start] = (float) (coverage / (hi - lo));
+                }
+            }
+            return new Weights(first, count, weights, stride);
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.common.image.PixelData;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import org.lwjgl.glfw.GLFWImage;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memSlice;
+
+/**
+ * A set of icon images kept in native memory, ready to be passed to {@link Window#setIcon(WindowIcon) SetWindowIcon}.
+ *
+ * <p>The icon is reference counted by the windows using it. Each window that sets the icon retains it, and releases it when the icon is replaced or the
+ * window is {@link Window#destroy() destroyed}. Once the last window releases it, the native memory is freed. An icon that was never attached must be
+ * {@link #destroy() destroyed} by its owner.</p>
+ *
+ * @author k4zoku
+ */
+public class WindowIcon implements Destroyable {
+
+    private static final Map<Path, WindowIcon> CACHE = new ConcurrentHashMap<>();
+
+    private final GLFWImage.Buffer images;
+    private final ByteBuffer pixels;
+    private Path cacheKey;
+    private int references;
+    private boolean destroyed;
+
+    /**
+     * Copies the generated images into a single native allocation.
+     *
+     * @param sizes  the edge length of each image
+     * @param images the images, packed ARGB
+     */
+    WindowIcon(int[] sizes, int[][] images) {
+        int bytes = 0;
+        for (int size : sizes) {
+            bytes += size * size * 4;
+        }
+        this.pixels = memAlloc(bytes);
+        this.images = GLFWImage.malloc(sizes.length);
+        int offset = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            int size = sizes[i];
+            int length = size * size * 4;
+            ByteBuffer slice = memSlice(pixels, offset, length);
+            PixelData.putRgba(slice, images[i], 0, size * size);
+            ((Buffer) slice).flip();
+            this.images.get(i).set(size, size, slice);
+            offset += length;
+        }
+    }
+
+    /**
+     * Returns the icon for an image file, building it with the {@link IconBuilder#STANDARD_SIZES standard sizes} the first time the file is requested.
+     *
+     * <p>The icon stays cached until it is freed, either explicitly or because the last window using it was destroyed. The icon is returned
+     * {@link #retain() retained}, so the caller owns one reference and must {@link #release() release} it once it has been set on its windows.</p>
+     *
+     * @param path the image file
+     *
+     * @return the shared icon, retained once for the caller
+     *
+     * @throws IOException if the file cannot be read or decoded
+     */
+    public static WindowIcon load(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        WindowIcon built = null;
+        while (true) {
+            WindowIcon cached = CACHE.get(key);
+            if (cached != null && cached.tryRetain()) {
+                if (built != null) {
+                    // Another thread published the same icon while this one was decoding
+                    built.destroy();
+                }
+                return cached;
+            }
+            if (built == null) {
+                // Decoded outside of any lock, so loading other icons is not blocked
+                built = IconBuilder.fromFile(key).build();
+                built.cacheKey = key;
+                built.retain();
+            }
+            if (cached == null ? CACHE.putIfAbsent(key, built) == null : CACHE.replace(key, cached, built)) {
+                return built;
+            }
+        }
+    }
+
+    /**
+     * Returns the native images, valid until the icon is freed.
+     *
+     * @return the images
+     */
+    public GLFWImage.Buffer getImages() {
+        return images;
+    }
+
+    /**
+     * Returns the number of images, one per generated size.
+     *
+     * @return the number of images
+     */
+    public int getImageCount() {
+        return images.capacity();
+    }
+
+    /**
+     * Registers a new user of this icon.
+     *
+     * @throws IllegalStateException if the icon is already freed
+     */
+    public synchronized void retain() {
+        if (destroyed) {
+            throw new IllegalStateException("Icon is destroyed");
+        }
+        references++;
+    }
+
+    /**
+     * Registers a new user of this icon unless it is already freed.
+     *
+     * @return whether the icon was retained
+     */
+    private synchronized boolean tryRetain() {
+        if (destroyed) {
+            return false;
+        }
+        references++;
+        return true;
+    }
+
+    /**
+     * Unregisters a user of this icon, freeing it when no user is left.
+     */
+    public synchronized void release() {
+        if (destroyed || references == 0) {
+            return;
+        }
+        if (--references == 0) {
+            destroy();
+        }
+    }
+
+    /**
+     * Returns whether the native memory of this icon is freed.
+     *
+     * @return whether this icon is destroyed
+     */
+    @Override
+    public synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Frees the native memory regardless of the windows still using it. GLFW copies icon images, so windows keep showing the icon.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (destroyed) {
+            return;
+        }
+        if (cacheKey != null) {
+            CACHE.remove(cacheKey, this);
+        }
+        images.free();
+        memFree(pixels);
+        this.destroyed = true;
+    }
+
+}
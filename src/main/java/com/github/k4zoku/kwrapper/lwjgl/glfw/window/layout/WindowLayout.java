@@ -0,0 +1,481 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.layout;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Geometry;
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Position;
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Size;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.monitor.Monitor;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFWVidMode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Snapshot of the layout of a set of windows, persisted in a versioned compact binary format.
+ *
+ * <p>Each window is identified by a stable id chosen by the application, and its geometry, monitor (by name and position), maximized, iconified, full
+ * screen, floating, decorated and resizable state and opacity are recorded. The monitors are queried once per {@link #capture(Map) capture} and once per
+ * {@link #restore(Map) restore}, not once per window.</p>
+ *
+ * <p>When the monitor topology changed since the snapshot, restoring falls back gracefully: a window whose monitor moved is moved along with it, and a window
+ * whose monitor is gone is moved to the same relative position on the primary monitor, shrunk to fit its work area if needed.</p>
+ *
+ * <pre>{@code
+ * Map<String, Window> windows = new LinkedHashMap<>();
+ * windows.put("main", mainWindow);
+ * windows.put("inspector", inspectorWindow);
+ * WindowLayout.capture(windows).save(layoutFile);
+ * // On the next start
+ * if (Files.exists(layoutFile)) {
+ *     WindowLayout.load(layoutFile).restore(windows);
+ * }
+ * }</pre>
+ *
+ * <p>GLFW does not expose the normal geometry of a maximized window, so only its monitor is restored for a maximized entry: the window is moved onto that
+ * monitor with its current size, then maximized, and unmaximizing it goes back to that size rather than to the size it had before the snapshot.
+ * An iconified window has no meaningful geometry either, e.g. {@code (-32000, -32000)} and {@code 0x0} on Win32, so only the state of an iconified entry
+ * is restored: the window is iconified where it is. Capturing and restoring must only be done from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class WindowLayout {
+
+    /**
+     * The current version of the binary format.
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4B574C59; // "KWLY"
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty layout.
+     */
+    public WindowLayout() {
+    }
+
+    /**
+     * Captures the layout of windows.
+     *
+     * @param windows the windows, by id
+     *
+     * @return the layout
+     */
+    public static WindowLayout capture(@NotNull Map<String, Window> windows) {
+        Monitor[] monitors = Monitor.getMonitors();
+        List<Geometry<Integer>> bounds = bounds(monitors);
+        WindowLayout layout = new WindowLayout();
+        for (Map.Entry<String, Window> window : windows.entrySet()) {
+            layout.put(capture(window.getKey(), window.getValue(), monitors, bounds));
+        }
+        return layout;
+    }
+
+    /**
+     * Adds or replaces the entry of a window.
+     *
+     * @param entry the entry
+     */
+    public void put(@NotNull Entry entry) {
+        entries.put(entry.getId(), entry);
+    }
+
+    /**
+     * Returns the entry of a window.
+     *
+     * @param id the id of the window
+     *
+     * @return the entry, or {@code null}
+     */
+    @Nullable
+    public Entry get(@NotNull String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Returns every entry, in insertion order.
+     *
+     * @return an unmodifiable view of the entries
+     */
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * Restores the layout of windows in one pass. Windows without an entry are left untouched.
+     *
+     * @param windows the windows, by id
+     *
+     * @return the number of windows whose monitor was not found, and were relocated
+     */
+    public int restore(@NotNull Map<String, Window> windows) {
+        Monitor[] monitors = Monitor.getMonitors();
+        List<Geometry<Integer>> workAreas = new ArrayList<>(monitors.length);
+        List<Position<Integer>> positions = new ArrayList<>(monitors.length);
+        String[] names = new String[monitors.length];
+        for (int i = 0; i < monitors.length; i++) {
+            workAreas.add(monitors[i].getWorkArea());
+            positions.add(monitors[i].getPosition());
+            names[i] = monitors[i].getName();
+        }
+        int relocated = 0;
+        for (Map.Entry<String, Window> window : windows.entrySet()) {
+            Entry entry = entries.get(window.getKey());
+            if (entry == null) {
+                continue;
+            }
+            int monitor = find(entry, names, positions, true);
+            boolean moved = monitor == -1;
+            if (moved) {
+                monitor = find(entry, names, positions, false);
+            }
+            if (monitor == -1 && monitors.length > 0 && !entry.isSet(Entry.ICONIFIED)) {
+                relocated++;
+            }
+            apply(entry, window.getValue(), monitors, workAreas, positions, monitor, moved);
+        }
+        return relocated;
+    }
+
+    /**
+     * Writes the layout in the binary format.
+     *
+     * @param out the stream, not closed
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(@NotNull OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(entries.size());
+        for (Entry entry : entries.values()) {
+            data.writeUTF(entry.id);
+            data.writeInt(entry.x);
+            data.writeInt(entry.y);
+            data.writeInt(entry.width);
+            data.writeInt(entry.height);
+            data.writeUTF(entry.monitorName);
+            data.writeInt(entry.monitorX);
+            data.writeInt(entry.monitorY);
+            data.writeByte(entry.flags);
+            data.writeFloat(entry.opacity);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a layout in the binary format.
+     *
+     * @param in the stream, not closed
+     *
+     * @return the layout
+     *
+     * @throws IOException if an I/O error occurs, the data is not a layout or its version is newer than {@link #VERSION}
+     */
+    public static WindowLayout read(@NotNull InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a window layout");
+        }
+        int version = data.readUnsignedShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported window layout version " + version);
+        }
+        int count = data.readUnsignedShort();
+        WindowLayout layout = new WindowLayout();
+        for (int i = 0; i < count; i++) {
+            String id = data.readUTF();
+            int x = data.readInt();
+            int y = data.readInt();
+            int width = data.readInt();
+            int height = data.readInt();
+            String monitorName = data.readUTF();
+            int monitorX = data.readInt();
+            int monitorY = data.readInt();
+            int flags = data.readUnsignedByte();
+            float opacity = data.readFloat();
+            layout.put(new Entry(id, x, y, width, height, monitorName, monitorX, monitorY, flags, opacity));
+        }
+        return layout;
+    }
+
+    /**
+     * Writes the layout to a file.
+     *
+     * @param path the file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void save(@NotNull Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Reads a layout from a file.
+     *
+     * @param path the file
+     *
+     * @return the layout
+     *
+     * @throws IOException if an I/O error occurs, or the file is not a supported layout
+     */
+    public static WindowLayout load(@NotNull Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    private static List<Geometry<Integer>> bounds(Monitor[] monitors) {
+        List<Geometry<Integer>> bounds = new ArrayList<>(monitors.length);
+        for (Monitor monitor : monitors) {
+            Position<Integer> position = monitor.getPosition();
+            GLFWVidMode videoMode = monitor.getVideoMode();
+            bounds.add(new Geometry<>(position.getX(), position.getY(),
+                    videoMode == null ? 0 : videoMode.width(), videoMode == null ? 0 : videoMode.height()));
+        }
+        return bounds;
+    }
+
+    private static Entry capture(String id, Window window, Monitor[] monitors, List<Geometry<Integer>> bounds) {
+        Geometry<Integer> geometry = window.getGeometry();
+        int flags = 0;
+        flags |= window.getAttribute(GLFW_MAXIMIZED) == GLFW_TRUE ? Entry.MAXIMIZED : 0;
+        flags |= window.getAttribute(GLFW_ICONIFIED) == GLFW_TRUE ? Entry.ICONIFIED : 0;
+        flags |= window.getAttribute(GLFW_FLOATING) == GLFW_TRUE ? Entry.FLOATING : 0;
+        flags |= window.getAttribute(GLFW_DECORATED) == GLFW_TRUE ? Entry.DECORATED : 0;
+        flags |= window.getAttribute(GLFW_RESIZABLE) == GLFW_TRUE ? Entry.RESIZABLE : 0;
+
+        int monitor = -1;
+        long fullScreen = glfwGetWindowMonitor(window.getPointer());
+        if (fullScreen != NULL) {
+            flags |= Entry.FULL_SCREEN;
+            for (int i = 0; i < monitors.length; i++) {
+                if (monitors[i].getPointer() == fullScreen) {
+                    monitor = i;
+                }
+            }
+        } else {
+            int centerX = geometry.getX() + geometry.getWidth() / 2;
+            int centerY = geometry.getY() + geometry.getHeight() / 2;
+            for (int i = 0; i < monitors.length && monitor == -1; i++) {
+                if (contains(bounds.get(i), centerX, centerY)) {
+                    monitor = i;
+                }
+            }
+        }
+        String monitorName = "";
+        int monitorX = 0;
+        int monitorY = 0;
+        if (monitor != -1) {
+            String name = monitors[monitor].getName();
+            monitorName = name == null ? "" : name;
+            monitorX = bounds.get(monitor).getX();
+            monitorY = bounds.get(monitor).getY();
+        }
+        return new Entry(id, geometry.getX(), geometry.getY(), geometry.getWidth(), geometry.getHeight(),
+                monitorName, monitorX, monitorY, flags, window.getOpacity());
+    }
+
+    private static int find(Entry entry, String[] names, List<Position<Integer>> positions, boolean exact) {
+        if (entry.monitorName.isEmpty()) {
+            return -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (entry.monitorName.equals(names[i])
+                    && (!exact || positions.get(i).getX() == entry.monitorX && positions.get(i).getY() == entry.monitorY)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void apply(Entry entry, Window window, Monitor[] monitors, List<Geometry<Integer>> workAreas,
+                              List<Position<Integer>> positions, int monitor, boolean moved) {
+        if (window.getAttribute(GLFW_MAXIMIZED) == GLFW_TRUE || window.getAttribute(GLFW_ICONIFIED) == GLFW_TRUE) {
+            window.restore();
+        }
+        window.setAttribute(GLFW_FLOATING, entry.isSet(Entry.FLOATING) ? GLFW_TRUE : GLFW_FALSE);
+        window.setAttribute(GLFW_DECORATED, entry.isSet(Entry.DECORATED) ? GLFW_TRUE : GLFW_FALSE);
+        window.setAttribute(GLFW_RESIZABLE, entry.isSet(Entry.RESIZABLE) ? GLFW_TRUE : GLFW_FALSE);
+        window.setOpacity(entry.opacity);
+
+        if (entry.isSet(Entry.FULL_SCREEN) && monitor != -1) {
+            GLFWVidMode videoMode = monitors[monitor].getVideoMode();
+            int width = entry.width > 0 || videoMode == null ? entry.width : videoMode.width();
+            int height = entry.height > 0 || videoMode == null ? entry.height : videoMode.height();
+            window.setMonitor(monitors[monitor], 0, 0, width, height, videoMode == null ? GLFW_DONT_CARE : videoMode.refreshRate());
+        } else if (monitors.length > 0 && !entry.isSet(Entry.ICONIFIED)) {
+            int x = entry.x;
+            int y = entry.y;
+            int width = entry.width;
+            int height = entry.height;
+            if (entry.isSet(Entry.MAXIMIZED)) {
+                // The recorded geometry is the maximized one, only move the window onto its monitor before maximizing it
+                Geometry<Integer> area = workAreas.get(monitor == -1 ? 0 : monitor);
+                Size<Integer> size = window.getSize();
+                width = Math.min(size.getWidth(), area.getWidth());
+                height = Math.min(size.getHeight(), area.getHeight());
+                x = area.getX();
+                y = area.getY();
+            } else if (monitor != -1 && moved) {
+                // Same monitor at another position, keep the window at the same place on it
+                x += positions.get(monitor).getX() - entry.monitorX;
+                y += positions.get(monitor).getY() - entry.monitorY;
+            } else if (monitor == -1) {
+                // Monitor gone, keep the relative position on the primary monitor and fit its work area
+                Geometry<Integer> area = workAreas.get(0);
+                width = Math.min(width, area.getWidth());
+                height = Math.min(height, area.getHeight());
+                x = clamp(area.getX() + entry.x - entry.monitorX, area.getX(), area.getX() + area.getWidth() - width);
+                y = clamp(area.getY() + entry.y - entry.monitorY, area.getY(), area.getY() + area.getHeight() - height);
+            }
+            if (glfwGetWindowMonitor(window.getPointer()) != NULL) {
+                window.setMonitor(null, x, y, width, height, GLFW_DONT_CARE);
+            } else {
+                window.setGeometry(x, y, width, height);
+            }
+        }
+
+        if (entry.isSet(Entry.MAXIMIZED)) {
+            window.maximize();
+        } else if (entry.isSet(Entry.ICONIFIED)) {
+            window.iconify();
+        }
+    }
+
+    private static boolean contains(Geometry<Integer> bounds, int x, int y) {
+        return x >= bounds.getX() && y >= bounds.getY() && x < bounds.getX() + bounds.getWidth() && y < bounds.getY() + bounds.getHeight();
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    /**
+     * The recorded layout of a single window.
+     */
+    public static final class Entry {
+
+        /**
+         * The window was maximized.
+         */
+        public static final int MAXIMIZED = 1;
+        /**
+         * The window was iconified.
+         */
+        public static final int ICONIFIED = 1 << 1;
+        /**
+         * The window was full screen on its monitor.
+         */
+        public static final int FULL_SCREEN = 1 << 2;
+        /**
+         * The window was floating.
+         */
+        public static final int FLOATING = 1 << 3;
+        /**
+         * The window was decorated.
+         */
+        public static final int DECORATED = 1 << 4;
+        /**
+         * The window was resizable.
+         */
+        public static final int RESIZABLE = 1 << 5;
+
+        private final String id;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final String monitorName;
+        private final int monitorX;
+        private final int monitorY;
+        private final int flags;
+        private final float opacity;
+
+        /**
+         * Creates an entry.
+         *
+         * @param id          the id of the window
+         * @param x           the x position of the window, in screen coordinates
+         * @param y           the y position of the window, in screen coordinates
+         * @param width       the width of the window
+         * @param height      the height of the window
+         * @param monitorName the name of the monitor of the window, or an empty string
+         * @param monitorX    the x position of the monitor
+         * @param monitorY    the y position of the monitor
+         * @param flags       the state flags, e.g. {@link #MAXIMIZED}
+         * @param opacity     the opacity of the window
+         */
+        public Entry(@NotNull String id, int x, int y, int width, int height, @NotNull String monitorName, int monitorX, int monitorY, int flags,
+                     float opacity) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.monitorName = monitorName;
+            this.monitorX = monitorX;
+            this.monitorY = monitorY;
+            this.flags = flags;
+            this.opacity = opacity;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Geometry<Integer> getGeometry() {
+            return new Geometry<>(x, y, width, height);
+        }
+
+        public String getMonitorName() {
+            return monitorName;
+        }
+
+        public Position<Integer> getMonitorPosition() {
+            return new Position<>(monitorX, monitorY);
+        }
+
+        public int getFlags() {
+            return flags;
+        }
+
+        /**
+         * Returns whether a state flag is set.
+         *
+         * @param flag the flag, e.g. {@link #MAXIMIZED}
+         *
+         * @return whether it is set
+         */
+        public boolean isSet(int flag) {
+            return (flags & flag) != 0;
+        }
+
+        public float getOpacity() {
+            return opacity;
+        }
+    }
+
+}
@@ -0,0 +1,327 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.window.pool;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.Destroyable;
+import com.github.k4zoku.kwrapper.lwjgl.common.geometry.Geometry;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.Window;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.WindowHints;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon.WindowIcon;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * A pool of hidden, pre-created windows, handed out instantly instead of paying for window and context creation on demand.
+ *
+ * <p>Windows are created during idle time by {@link #prewarm()}, at most one per call so a single call never stalls for more than one window creation.
+ * Released windows are hidden and reset instead of being destroyed, and handed out again.</p>
+ *
+ * <p>The number of idle windows kept adapts to demand: it follows the largest number of windows acquired between two {@code prewarm()} calls, decaying
+ * with the configured half-life, and stays within the minimum and maximum sizes of the pool.</p>
+ *
+ * <p>All methods must only be called from the main thread.</p>
+ *
+ * @author k4zoku
+ */
+public class WindowPool implements Destroyable {
+
+    private static final long DEFAULT_HALF_LIFE = 30_000_000_000L;
+
+    @Nullable
+    private final Runnable hints;
+    @Nullable
+    private final WindowHints windowHints;
+    private final int minIdle;
+    private final int maxIdle;
+    private final long halfLife;
+    private final ArrayDeque<Window> idle = new ArrayDeque<>();
+
+    /*
+     * Floating, decorated and resizable state the pooled windows were created with, read from the first one.
+     */
+    private boolean attributesKnown;
+    private int floating;
+    private int decorated;
+    private int resizable;
+
+    private double demand;
+    private int acquiredSincePrewarm;
+    private long lastPrewarm;
+    private long hits;
+    private long misses;
+    private boolean destroyed;
+
+    /**
+     * Creates an empty pool with a 30 seconds demand half-life, creating its windows from a shared hint set.
+     *
+     * @param hints   the window hints used to create the pooled windows, {@link org.lwjgl.glfw.GLFW#GLFW_VISIBLE VISIBLE} is forced to false
+     * @param minIdle the number of idle windows always kept ready
+     * @param maxIdle the maximum number of idle windows
+     */
+    public WindowPool(@NotNull WindowHints hints, int minIdle, int maxIdle) {
+        this(hints, minIdle, maxIdle, DEFAULT_HALF_LIFE);
+    }
+
+    /**
+     * Creates an empty pool, creating its windows from a shared hint set. Since the hidden variant of the set is derived once, creating pooled windows
+     * does not issue any hint call once the set is applied.
+     *
+     * @param hints    the window hints used to create the pooled windows, {@link org.lwjgl.glfw.GLFW#GLFW_VISIBLE VISIBLE} is forced to false
+     * @param minIdle  the number of idle windows always kept ready
+     * @param maxIdle  the maximum number of idle windows
+     * @param halfLife the time, in nanoseconds, for the observed demand to decay by half
+     */
+    public WindowPool(@NotNull WindowHints hints, int minIdle, int maxIdle, long halfLife) {
+        this(null, hints.with(GLFW_VISIBLE, GLFW_FALSE), minIdle, maxIdle, halfLife);
+    }
+
+    /**
+     * Creates an empty pool with a 30 seconds demand half-life.
+     *
+     * @param hints   sets the window hints used to create the pooled windows, {@link org.lwjgl.glfw.GLFW#GLFW_VISIBLE VISIBLE} is then forced to false
+     * @param minIdle the number of idle windows always kept ready
+     * @param maxIdle the maximum number of idle windows
+     */
+    public WindowPool(@NotNull Runnable hints, int minIdle, int maxIdle) {
+        this(hints, minIdle, maxIdle, DEFAULT_HALF_LIFE);
+    }
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param hints    sets the window hints used to create the pooled windows, {@link org.lwjgl.glfw.GLFW#GLFW_VISIBLE VISIBLE} is then forced to false
+     * @param minIdle  the number of idle windows always kept ready
+     * @param maxIdle  the maximum number of idle windows
+     * @param halfLife the time, in nanoseconds, for the observed demand to decay by half
+     */
+    public WindowPool(@NotNull Runnable hints, int minIdle, int maxIdle, long halfLife) {
+        this(hints, null, minIdle, maxIdle, halfLife);
+    }
+
+    private WindowPool(@Nullable Runnable hints, @Nullable WindowHints windowHints, int minIdle, int maxIdle, long halfLife) {
+        if (minIdle < 0 || maxIdle < minIdle || halfLife <= 0) {
+            throw new IllegalArgumentException("Invalid pool sizing");
+        }
+        this.hints = hints;
+        this.windowHints = windowHints;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        this.halfLife = halfLife;
+        this.lastPrewarm = System.nanoTime();
+    }
+
+    /**
+     * Takes a window from the pool, or creates one if none is ready, then shows it with the given title and geometry.
+     *
+     * @param title    the window title
+     * @param geometry the position and size of the content area
+     *
+     * @return the visible window, to be handed back with {@link #release(Window)}
+     */
+    public Window acquire(CharSequence title, @NotNull Geometry<Integer> geometry) {
+        return acquire(title, geometry.getX(), geometry.getY(), geometry.getWidth(), geometry.getHeight());
+    }
+
+    /**
+     * Takes a window from the pool, or creates one if none is ready, then shows it with the given title and geometry.
+     *
+     * @param title  the window title
+     * @param xpos   the x-coordinate of the upper-left corner of the content area
+     * @param ypos   the y-coordinate of the upper-left corner of the content area
+     * @param width  the width of the content area
+     * @param height the height of the content area
+     *
+     * @return the visible window, to be handed back with {@link #release(Window)}
+     */
+    public Window acquire(CharSequence title, int xpos, int ypos, int width, int height) {
+        checkDestroyed();
+        acquiredSincePrewarm++;
+        Window window = idle.pollFirst();
+        if (window == null) {
+            misses++;
+            window = create(width, height);
+        } else {
+            hits++;
+            window.setSize(width, height);
+        }
+        window.setTitle(title);
+        window.setPosition(xpos, ypos);
+        window.show();
+        return window;
+    }
+
+    /**
+     * Hands a window back to the pool. It is hidden and reset: its callbacks are freed, it leaves full screen, is restored if iconified or maximized, its
+     * close flag, cursor, cursor mode, icon and opacity are reset, its size limits and aspect ratio are removed, and its floating, decorated and resizable
+     * attributes are set back to the ones it was created with. Anything else, e.g. the state of its context, is kept. It is destroyed instead if the pool
+     * already holds enough idle windows.
+     *
+     * @param window a window acquired from this pool
+     */
+    public void release(@NotNull Window window) {
+        if (window.isDestroyed()) {
+            return;
+        }
+        if (destroyed || idle.size() >= targetIdle()) {
+            window.freeCallbacks();
+            window.destroy();
+            return;
+        }
+        window.hide();
+        reset(window);
+        idle.addFirst(window);
+    }
+
+    /**
+     * Creates or destroys at most one idle window to follow the observed demand. Call this during idle time, e.g. once per frame after rendering.
+     *
+     * @return whether a window was created or destroyed
+     */
+    public boolean prewarm() {
+        if (destroyed) {
+            return false;
+        }
+        long now = System.nanoTime();
+        demand = Math.max(acquiredSincePrewarm, demand * Math.pow(0.5, (double) (now - lastPrewarm) / halfLife));
+        acquiredSincePrewarm = 0;
+        lastPrewarm = now;
+        int target = targetIdle();
+        if (idle.size() < target) {
+            idle.addLast(create(1, 1));
+            return true;
+        }
+        if (idle.size() > target) {
+            Window window = idle.pollLast();
+            window.freeCallbacks();
+            window.destroy();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of idle windows the pool currently aims for.
+     *
+     * @return the target number of idle windows
+     */
+    public int targetIdle() {
+        return Math.max(minIdle, Math.min(maxIdle, (int) Math.ceil(demand)));
+    }
+
+    /**
+     * Returns the number of idle windows ready to be handed out.
+     *
+     * @return the number of idle windows
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the number of acquisitions served by an idle window.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of acquisitions that had to create a window.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns whether this pool is destroyed.
+     *
+     * @return whether this pool is destroyed
+     */
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Destroys the idle windows. Windows still acquired are destroyed when released.
+     */
+    @Override
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        this.destroyed = true;
+        Window window;
+        while ((window = idle.pollFirst()) != null) {
+            window.freeCallbacks();
+            window.destroy();
+        }
+    }
+
+    private Window create(int width, int height) {
+        try {
+            if (windowHints != null) {
+                return remember(new Window(width, height, "", windowHints));
+            }
+            hints.run();
+            glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+            return remember(new Window(width, height, ""));
+        } finally {
+            // Do not leave later windows of the application hidden
+            glfwWindowHint(GLFW_VISIBLE, GLFW_TRUE);
+            WindowHints.invalidate();
+        }
+    }
+
+    private Window remember(Window window) {
+        if (!attributesKnown) {
+            this.floating = window.getAttribute(GLFW_FLOATING);
+            this.decorated = window.getAttribute(GLFW_DECORATED);
+            this.resizable = window.getAttribute(GLFW_RESIZABLE);
+            this.attributesKnown = true;
+        }
+        return window;
+    }
+
+    private void reset(Window window) {
+        window.freeCallbacks();
+        window.setShouldClose(false);
+        if (glfwGetWindowMonitor(window.getPointer()) != NULL) {
+            Geometry<Integer> geometry = window.getGeometry();
+            window.setMonitor(null, geometry.getX(), geometry.getY(), geometry.getWidth(), geometry.getHeight(), GLFW_DONT_CARE);
+        }
+        if (window.getAttribute(GLFW_ICONIFIED) == GLFW_TRUE || window.getAttribute(GLFW_MAXIMIZED) == GLFW_TRUE) {
+            window.restore();
+        }
+        window.setSizeLimits(GLFW_DONT_CARE, GLFW_DONT_CARE, GLFW_DONT_CARE, GLFW_DONT_CARE);
+        window.setAspectRatio(GLFW_DONT_CARE, GLFW_DONT_CARE);
+        resetAttribute(window, GLFW_FLOATING, floating);
+        resetAttribute(window, GLFW_DECORATED, decorated);
+        resetAttribute(window, GLFW_RESIZABLE, resizable);
+        window.setCursor(null);
+        window.setInputMode(GLFW_CURSOR, GLFW_CURSOR_NORMAL);
+        window.setIcon((WindowIcon) null);
+        if (window.getOpacity() != 1f) {
+            window.setOpacity(1f);
+        }
+    }
+
+    private static void resetAttribute(Window window, int attribute, int value) {
+        if (window.getAttribute(attribute) != value) {
+            window.setAttribute(attribute, value);
+        }
+    }
+
+    private void checkDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("Window pool is destroyed");
+        }
+    }
+
+}
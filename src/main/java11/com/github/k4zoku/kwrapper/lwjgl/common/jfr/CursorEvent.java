@@ -0,0 +1,22 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.k4zoku.kwrapper.Cursor")
+@Label("Cursor Change")
+@Category("KWrapper")
+@Description("Cursor image or mode change of a window")
+class CursorEvent extends Event {
+    @Label("Window")
+    long window;
+
+    @Label("Cursor")
+    long cursor;
+
+    @Label("Mode")
+    int mode;
+}
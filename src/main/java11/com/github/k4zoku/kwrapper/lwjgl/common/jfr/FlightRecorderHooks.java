@@ -0,0 +1,176 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.EventType;
+import org.jetbrains.annotations.Nullable;
+
+import static org.lwjgl.glfw.GLFW.GLFW_CONNECTED;
+
+/**
+ * Hooks reporting the activity of the wrapper to Java Flight Recorder.
+ *
+ * <p>This is the JDK 11 version, emitting {@code jdk.jfr} events under the {@code KWrapper} category. Event objects are only allocated while their type is
+ * enabled in the running recording, so the hooks cost an {@link EventType#isEnabled()} check otherwise.</p>
+ *
+ * @author k4zoku
+ */
+public final class FlightRecorderHooks {
+
+    private static final EventType FRAME = EventType.getEventType(FrameEvent.class);
+    private static final EventType SWAP = EventType.getEventType(SwapEvent.class);
+    private static final EventType POLL = EventType.getEventType(PollEvent.class);
+    private static final EventType WINDOW_CREATE = EventType.getEventType(WindowCreateEvent.class);
+    private static final EventType WINDOW_DESTROY = EventType.getEventType(WindowDestroyEvent.class);
+    private static final EventType RESIZE = EventType.getEventType(ResizeEvent.class);
+    private static final EventType MONITOR = EventType.getEventType(MonitorEvent.class);
+    private static final EventType CURSOR = EventType.getEventType(CursorEvent.class);
+
+    private FlightRecorderHooks() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static boolean isSupported() {
+        return true;
+    }
+
+    @Nullable
+    public static Object beginFrame() {
+        if (!FRAME.isEnabled()) {
+            return null;
+        }
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endFrame(@Nullable Object token, long window) {
+        if (token != null) {
+            FrameEvent event = (FrameEvent) token;
+            event.end();
+            if (event.shouldCommit()) {
+                event.window = window;
+                event.commit();
+            }
+        }
+    }
+
+    @Nullable
+    public static Object beginSwap() {
+        if (!SWAP.isEnabled()) {
+            return null;
+        }
+        SwapEvent event = new SwapEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endSwap(@Nullable Object token, long window) {
+        if (token != null) {
+            SwapEvent event = (SwapEvent) token;
+            event.end();
+            if (event.shouldCommit()) {
+                event.window = window;
+                event.commit();
+            }
+        }
+    }
+
+    @Nullable
+    public static Object beginPoll() {
+        if (!POLL.isEnabled()) {
+            return null;
+        }
+        PollEvent event = new PollEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endPoll(@Nullable Object token, String mode) {
+        if (token != null) {
+            PollEvent event = (PollEvent) token;
+            event.end();
+            if (event.shouldCommit()) {
+                event.mode = mode;
+                event.commit();
+            }
+        }
+    }
+
+    @Nullable
+    public static Object beginWindowCreate() {
+        if (!WINDOW_CREATE.isEnabled()) {
+            return null;
+        }
+        WindowCreateEvent event = new WindowCreateEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endWindowCreate(@Nullable Object token, long window, int width, int height) {
+        if (token != null) {
+            WindowCreateEvent event = (WindowCreateEvent) token;
+            event.end();
+            if (event.shouldCommit()) {
+                event.window = window;
+                event.width = width;
+                event.height = height;
+                event.commit();
+            }
+        }
+    }
+
+    @Nullable
+    public static Object beginWindowDestroy() {
+        if (!WINDOW_DESTROY.isEnabled()) {
+            return null;
+        }
+        WindowDestroyEvent event = new WindowDestroyEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endWindowDestroy(@Nullable Object token, long window) {
+        if (token != null) {
+            WindowDestroyEvent event = (WindowDestroyEvent) token;
+            event.end();
+            if (event.shouldCommit()) {
+                event.window = window;
+                event.commit();
+            }
+        }
+    }
+
+    public static boolean isResizeRecorded() {
+        return RESIZE.isEnabled();
+    }
+
+    public static void resize(long window, int width, int height, boolean frameBuffer) {
+        if (RESIZE.isEnabled()) {
+            ResizeEvent event = new ResizeEvent();
+            event.window = window;
+            event.width = width;
+            event.height = height;
+            event.frameBuffer = frameBuffer;
+            event.commit();
+        }
+    }
+
+    public static void monitor(long monitor, int event) {
+        if (MONITOR.isEnabled()) {
+            MonitorEvent record = new MonitorEvent();
+            record.monitor = monitor;
+            record.connected = event == GLFW_CONNECTED;
+            record.commit();
+        }
+    }
+
+    public static void cursor(long window, long cursor, int mode) {
+        if (CURSOR.isEnabled()) {
+            CursorEvent event = new CursorEvent();
+            event.window = window;
+            event.cursor = cursor;
+            event.mode = mode;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.github.k4zoku.kwrapper.Frame")
+@Label("Frame")
+@Category("KWrapper")
+@Description("Time between two buffer swaps of a window")
+@Threshold("20 ms")
+class FrameEvent extends Event {
+    @Label("Window")
+    long window;
+}
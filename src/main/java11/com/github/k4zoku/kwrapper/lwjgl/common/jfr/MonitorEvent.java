@@ -0,0 +1,19 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.k4zoku.kwrapper.Monitor")
+@Label("Monitor Connection")
+@Category("KWrapper")
+@Description("Monitor connected or disconnected")
+class MonitorEvent extends Event {
+    @Label("Monitor")
+    long monitor;
+
+    @Label("Connected")
+    boolean connected;
+}
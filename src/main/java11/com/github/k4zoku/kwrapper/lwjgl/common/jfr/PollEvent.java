@@ -0,0 +1,18 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.github.k4zoku.kwrapper.Poll")
+@Label("Event Poll")
+@Category("KWrapper")
+@Description("Event processing through Window.pollEvents() or Window.waitEvents()")
+@Threshold("10 ms")
+class PollEvent extends Event {
+    @Label("Mode")
+    String mode;
+}
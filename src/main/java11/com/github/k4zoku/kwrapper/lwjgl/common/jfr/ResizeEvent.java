@@ -0,0 +1,25 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.k4zoku.kwrapper.Resize")
+@Label("Resize")
+@Category("KWrapper")
+@Description("Size or framebuffer size change of a window")
+class ResizeEvent extends Event {
+    @Label("Window")
+    long window;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+
+    @Label("Framebuffer")
+    boolean frameBuffer;
+}
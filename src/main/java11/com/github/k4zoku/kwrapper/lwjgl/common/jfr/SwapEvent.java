@@ -0,0 +1,18 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.github.k4zoku.kwrapper.Swap")
+@Label("Buffer Swap")
+@Category("KWrapper")
+@Description("Window.swapBuffers() call")
+@Threshold("10 ms")
+class SwapEvent extends Event {
+    @Label("Window")
+    long window;
+}
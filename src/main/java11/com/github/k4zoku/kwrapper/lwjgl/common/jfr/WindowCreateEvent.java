@@ -0,0 +1,22 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.k4zoku.kwrapper.WindowCreate")
+@Label("Window Create")
+@Category("KWrapper")
+@Description("Creation of a GLFW window")
+class WindowCreateEvent extends Event {
+    @Label("Window")
+    long window;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+}
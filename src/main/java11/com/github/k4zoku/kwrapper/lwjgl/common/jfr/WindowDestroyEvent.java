@@ -0,0 +1,16 @@
+package com.github.k4zoku.kwrapper.lwjgl.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.github.k4zoku.kwrapper.WindowDestroy")
+@Label("Window Destroy")
+@Category("KWrapper")
+@Description("Destruction of a GLFW window")
+class WindowDestroyEvent extends Event {
+    @Label("Window")
+    long window;
+}
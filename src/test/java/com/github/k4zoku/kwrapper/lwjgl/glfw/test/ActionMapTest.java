@@ -0,0 +1,47 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.test;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.input.ActionMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.glfw.GLFW.*;
+
+class ActionMapTest {
+
+    private static final int JUMP = 0;
+    private static final int SAVE = 1;
+    private static final int FIRE = 2;
+
+    @Test
+    void actionMapTest() {
+        ActionMap actions = ActionMap.builder()
+                .bindKey(GLFW_KEY_SPACE, ActionMap.ANY_MODS, GLFW_PRESS, JUMP)
+                .bindKey(GLFW_KEY_S, GLFW_MOD_CONTROL, GLFW_PRESS, SAVE)
+                .bindMouseButton(GLFW_MOUSE_BUTTON_LEFT, 0, GLFW_PRESS, FIRE)
+                .build();
+
+        // Wildcard and exact modifiers, lock keys ignored
+        assertEquals(JUMP, actions.lookupKey(GLFW_KEY_SPACE, GLFW_PRESS, GLFW_MOD_SHIFT));
+        assertEquals(SAVE, actions.lookupKey(GLFW_KEY_S, GLFW_PRESS, GLFW_MOD_CONTROL | GLFW_MOD_NUM_LOCK));
+        assertEquals(ActionMap.UNBOUND, actions.lookupKey(GLFW_KEY_S, GLFW_PRESS, 0));
+        assertEquals(ActionMap.UNBOUND, actions.lookupKey(GLFW_KEY_S, GLFW_RELEASE, GLFW_MOD_CONTROL));
+        assertEquals(ActionMap.UNBOUND, actions.lookupKey(GLFW_KEY_UNKNOWN, GLFW_PRESS, 0));
+        assertEquals(FIRE, actions.lookupMouseButton(GLFW_MOUSE_BUTTON_LEFT, GLFW_PRESS, 0));
+
+        // Dispatch to handlers
+        AtomicInteger fired = new AtomicInteger();
+        actions.setHandler(FIRE, (id, action, mods) -> fired.incrementAndGet());
+        assertTrue(actions.dispatchMouseButton(GLFW_MOUSE_BUTTON_LEFT, GLFW_PRESS, 0));
+        assertFalse(actions.dispatchMouseButton(GLFW_MOUSE_BUTTON_RIGHT, GLFW_PRESS, 0));
+        assertEquals(1, fired.get());
+
+        // Rebinding at runtime
+        actions.unbind(SAVE);
+        actions.bindKey(GLFW_KEY_F2, 0, GLFW_PRESS, SAVE);
+        assertEquals(ActionMap.UNBOUND, actions.lookupKey(GLFW_KEY_S, GLFW_PRESS, GLFW_MOD_CONTROL));
+        assertEquals(SAVE, actions.lookupKey(GLFW_KEY_F2, GLFW_PRESS, 0));
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.test;
+
+import com.github.k4zoku.kwrapper.lwjgl.common.concurrent.TripleBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripleBufferTest {
+
+    @Test
+    void tripleBufferTest() throws InterruptedException {
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[2]);
+        assertFalse(buffer.update());
+
+        // Only the latest published snapshot is seen
+        buffer.getBack()[0] = 1;
+        buffer.publish();
+        buffer.getBack()[0] = 2;
+        buffer.publish();
+        assertTrue(buffer.update());
+        assertEquals(2, buffer.getFront()[0]);
+        assertFalse(buffer.update());
+
+        // Snapshots are never torn and never go back in time
+        final long count = 200_000;
+        Thread producer = new Thread(() -> {
+            for (long i = 1; i <= count; i++) {
+                long[] back = buffer.getBack();
+                back[0] = i;
+                back[1] = -i;
+                buffer.publish();
+            }
+        });
+        producer.start();
+        long last = 0;
+        while (last < count) {
+            if (buffer.update()) {
+                long[] front = buffer.getFront();
+                assertEquals(front[0], -front[1]);
+                assertTrue(front[0] > last);
+                last = front[0];
+            }
+        }
+        producer.join();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.test;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon.IconBuilder;
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.icon.WindowIcon;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.glfw.GLFWImage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowIconTest {
+
+    @Test
+    void iconTest() {
+        // Solid, half transparent orange source
+        int[] pixels = new int[100 * 50];
+        Arrays.fill(pixels, 0x80FF8000);
+        WindowIcon icon = IconBuilder.fromPixels(pixels, 100, 50).sizes(16, 32, 256).build();
+
+        // 256 is larger than the source and skipped
+        assertEquals(2, icon.getImageCount());
+        GLFWImage image = icon.getImages().get(1);
+        assertEquals(32, image.width());
+        assertEquals(32, image.height());
+
+        // Letterboxed rows are transparent, the content keeps its color
+        ByteBuffer rgba = image.pixels(32 * 32 * 4);
+        assertEquals(0, rgba.get(3));
+        int center = (16 * 32 + 16) * 4;
+        assertEquals((byte) 0xFF, rgba.get(center));
+        assertEquals((byte) 0x80, rgba.get(center + 1));
+        assertEquals((byte) 0x00, rgba.get(center + 2));
+        assertEquals((byte) 0x80, rgba.get(center + 3));
+
+        // Freed once the last user releases it
+        icon.retain();
+        icon.retain();
+        icon.release();
+        assertFalse(icon.isDestroyed());
+        icon.release();
+        assertTrue(icon.isDestroyed());
+    }
+
+}
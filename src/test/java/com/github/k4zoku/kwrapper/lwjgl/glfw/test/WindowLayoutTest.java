@@ -0,0 +1,48 @@
+package com.github.k4zoku.kwrapper.lwjgl.glfw.test;
+
+import com.github.k4zoku.kwrapper.lwjgl.glfw.window.layout.WindowLayout;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowLayoutTest {
+
+    @Test
+    void windowLayoutTest() throws IOException {
+        WindowLayout layout = new WindowLayout();
+        layout.put(new WindowLayout.Entry("main", -1920, 40, 1280, 720, "DELL U2720Q", -1920, 0,
+                WindowLayout.Entry.MAXIMIZED | WindowLayout.Entry.DECORATED, 0.75f));
+        layout.put(new WindowLayout.Entry("inspector", 100, 100, 320, 640, "", 0, 0, WindowLayout.Entry.FLOATING, 1.0f));
+
+        // Round trip keeps every field and the order
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        layout.write(out);
+        byte[] bytes = out.toByteArray();
+        WindowLayout read = WindowLayout.read(new ByteArrayInputStream(bytes));
+        assertEquals(2, read.getEntries().size());
+        assertEquals("main", read.getEntries().iterator().next().getId());
+        WindowLayout.Entry main = read.get("main");
+        assertNotNull(main);
+        assertEquals(-1920, main.getGeometry().getX());
+        assertEquals(40, main.getGeometry().getY());
+        assertEquals(1280, main.getGeometry().getWidth());
+        assertEquals(720, main.getGeometry().getHeight());
+        assertEquals("DELL U2720Q", main.getMonitorName());
+        assertEquals(-1920, main.getMonitorPosition().getX());
+        assertTrue(main.isSet(WindowLayout.Entry.MAXIMIZED));
+        assertFalse(main.isSet(WindowLayout.Entry.ICONIFIED));
+        assertEquals(0.75f, main.getOpacity());
+        assertTrue(read.get("inspector").isSet(WindowLayout.Entry.FLOATING));
+
+        // Newer versions and foreign data are rejected
+        byte[] newer = bytes.clone();
+        newer[5] = (byte) (WindowLayout.VERSION + 1);
+        assertThrows(IOException.class, () -> WindowLayout.read(new ByteArrayInputStream(newer)));
+        assertThrows(IOException.class, () -> WindowLayout.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 0, 1})));
+    }
+
+}